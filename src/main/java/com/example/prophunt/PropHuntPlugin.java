@@ -5,6 +5,7 @@ import com.example.prophunt.arena.ArenaManager;
 import com.example.prophunt.commands.PropHuntCommand;
 import com.example.prophunt.config.ConfigManager;
 import com.example.prophunt.disguise.DisguiseManager;
+import com.example.prophunt.game.GameClock;
 import com.example.prophunt.game.GameManager;
 import com.example.prophunt.gui.PropSelectorGUI;
 import com.example.prophunt.listeners.*;
@@ -34,6 +35,7 @@ public class PropHuntPlugin extends JavaPlugin {
     private MessageUtil messageUtil;
     private ArenaManager arenaManager;
     private GameManager gameManager;
+    private GameClock gameClock;
     private PlayerManager playerManager;
     private DisguiseManager disguiseManager;
 
@@ -102,8 +104,14 @@ public class PropHuntPlugin extends JavaPlugin {
             gameManager.endAllGames();
         }
 
+        // Stop the game clock once no game needs it
+        if (gameClock != null) {
+            gameClock.shutdown();
+        }
+
         // Save all data
         if (arenaManager != null) {
+            arenaManager.getScanner().shutdown();
             arenaManager.saveAll();
         }
 
@@ -126,6 +134,7 @@ public class PropHuntPlugin extends JavaPlugin {
         arenaManager = new ArenaManager(this);
         playerManager = new PlayerManager(this);
         gameManager = new GameManager(this);
+        gameClock = new GameClock(this);
         disguiseManager = new DisguiseManager(this);
 
         // Stats managers
@@ -222,6 +231,10 @@ public class PropHuntPlugin extends JavaPlugin {
         return gameManager;
     }
 
+    public GameClock getGameClock() {
+        return gameClock;
+    }
+
     public PlayerManager getPlayerManager() {
         return playerManager;
     }
@@ -5,10 +5,13 @@ import com.example.prophunt.arena.Arena;
 import com.example.prophunt.game.Game;
 import com.example.prophunt.player.GamePlayer;
 import com.example.prophunt.stats.PlayerStats;
+import com.example.prophunt.stats.StatsExporter;
 import org.bukkit.entity.Player;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Public API for PropHunt plugin.
@@ -80,11 +83,7 @@ public class PropHuntAPI {
      * @return the game, or empty if not in a game
      */
     public Optional<Game> getPlayerGame(Player player) {
-        GamePlayer gp = plugin.getPlayerManager().getPlayer(player);
-        if (gp != null && gp.getGame() != null) {
-            return Optional.of(gp.getGame());
-        }
-        return Optional.empty();
+        return Optional.ofNullable(plugin.getPlayerManager().getPlayerGame(player));
     }
 
     // ==================== Player Methods ====================
@@ -96,8 +95,7 @@ public class PropHuntAPI {
      * @return true if in a game
      */
     public boolean isInGame(Player player) {
-        GamePlayer gp = plugin.getPlayerManager().getPlayer(player);
-        return gp != null && gp.getGame() != null;
+        return plugin.getPlayerManager().getPlayerGame(player) != null;
     }
 
     /**
@@ -111,15 +109,41 @@ public class PropHuntAPI {
     }
 
     /**
-     * Gets a player's lifetime stats.
+     * Gets a player's lifetime stats without blocking.
+     * Stats are loaded when the player joins; until then this starts
+     * loading them and returns empty stats. Use
+     * {@link #getPlayerStatsAsync(Player)} when the stored values matter.
      *
      * @param player the player
-     * @return the player's stats
+     * @return the player's stats, or empty stats if not yet loaded
      */
     public PlayerStats getPlayerStats(Player player) {
         return plugin.getStatsManager().getStats(player);
     }
 
+    /**
+     * Gets a player's lifetime stats without blocking.
+     * Completes on a background thread if the stats are not yet loaded.
+     *
+     * @param player the player
+     * @return future completing with the player's stats
+     */
+    public CompletableFuture<PlayerStats> getPlayerStatsAsync(Player player) {
+        return plugin.getStatsManager().getStatsAsync(player);
+    }
+
+    /**
+     * Exports every player's stats to a gzip file in the plugin's
+     * {@code exports} folder. Runs in the background; only one export
+     * runs at a time.
+     *
+     * @param format the file format
+     * @return future completing with the written file
+     */
+    public CompletableFuture<File> exportStats(StatsExporter.Format format) {
+        return plugin.getStatsManager().exportStats(format);
+    }
+
     // ==================== Utility Methods ====================
 
     /**
@@ -5,6 +5,8 @@ import com.example.prophunt.PropHuntPlugin;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Manages all arenas in the plugin.
@@ -189,17 +191,19 @@ public class ArenaManager {
     }
 
     /**
-     * Scans an arena for valid props.
+     * Scans an arena for valid props in the background, saving it on success.
      *
      * @param arena the arena to scan
-     * @return scan result
+     * @param progress receives progress messages, on the server thread
+     * @return future completing with the scan result, on the server thread
      */
-    public ArenaScanner.ScanResult scanArena(Arena arena) {
-        ArenaScanner.ScanResult result = scanner.scan(arena);
-        if (result.isSuccess()) {
-            save(arena);
-        }
-        return result;
+    public CompletableFuture<ArenaScanner.ScanResult> scanArena(Arena arena, Consumer<String> progress) {
+        return scanner.scan(arena, progress).thenApply(result -> {
+            if (result.isSuccess()) {
+                save(arena);
+            }
+            return result;
+        });
     }
 
     /**
@@ -138,8 +138,8 @@ public class ArenaRegion {
      *
      * @return volume in blocks
      */
-    public int getVolume() {
-        return (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+    public long getVolume() {
+        return (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
     }
 
     /**
@@ -1,120 +1,206 @@
 package com.example.prophunt.arena;
 
 import com.example.prophunt.PropHuntPlugin;
+import com.example.prophunt.disguise.PropMaterials;
 import com.example.prophunt.disguise.PropSize;
 import com.example.prophunt.disguise.PropType;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Material;
-import org.bukkit.block.Block;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Scans arena regions to detect valid prop blocks.
+ * The server thread only copies chunk snapshots; blocks are counted in
+ * parallel on a fork/join pool, one task per chunk column. Region size is
+ * unlimited: large regions, and any with unloaded chunks, are streamed
+ * under a per-tick time budget.
  */
 public class ArenaScanner {
 
-    private final PropHuntPlugin plugin;
+    private static final Material[] MATERIALS = Material.values();
+    private static final long PROGRESS_INTERVAL = 40L; // ticks (2 seconds)
 
-    // Materials that should never be props
-    private static final Set<Material> BLACKLIST = new HashSet<>(Arrays.asList(
-            // Air and technical blocks
-            Material.AIR, Material.CAVE_AIR, Material.VOID_AIR,
-            Material.BARRIER, Material.STRUCTURE_VOID, Material.STRUCTURE_BLOCK,
-            Material.COMMAND_BLOCK, Material.CHAIN_COMMAND_BLOCK, Material.REPEATING_COMMAND_BLOCK,
-            Material.JIGSAW, Material.LIGHT,
-
-            // Liquids
-            Material.WATER, Material.LAVA,
-
-            // Dangerous/problematic blocks
-            Material.BEDROCK, Material.END_PORTAL, Material.END_PORTAL_FRAME,
-            Material.NETHER_PORTAL, Material.END_GATEWAY,
-            Material.SPAWNER, Material.INFESTED_STONE, Material.INFESTED_COBBLESTONE,
-            Material.INFESTED_STONE_BRICKS, Material.INFESTED_MOSSY_STONE_BRICKS,
-            Material.INFESTED_CRACKED_STONE_BRICKS, Material.INFESTED_CHISELED_STONE_BRICKS,
-            Material.INFESTED_DEEPSLATE,
-
-            // Moving/piston blocks
-            Material.MOVING_PISTON, Material.PISTON_HEAD,
-
-            // Redstone that's too technical
-            Material.REDSTONE_WIRE, Material.COMPARATOR, Material.REPEATER,
-
-            // Fire
-            Material.FIRE, Material.SOUL_FIRE,
-
-            // Too big or unusual
-            Material.DRAGON_EGG, Material.CHORUS_PLANT, Material.CHORUS_FLOWER
-    ));
-
-    // Materials that make good props (even if not commonly found)
-    private static final Set<Material> WHITELIST = new HashSet<>(Arrays.asList(
-            // Classic hide-and-seek props
-            Material.BARREL, Material.CHEST, Material.TRAPPED_CHEST,
-            Material.FURNACE, Material.CRAFTING_TABLE, Material.CAULDRON,
-            Material.FLOWER_POT, Material.LANTERN, Material.SOUL_LANTERN,
-            Material.DECORATED_POT, Material.CAMPFIRE, Material.SOUL_CAMPFIRE,
-            Material.ANVIL, Material.CHIPPED_ANVIL, Material.DAMAGED_ANVIL,
-            Material.BREWING_STAND, Material.ENCHANTING_TABLE,
-            Material.LECTERN, Material.COMPOSTER, Material.SMOKER, Material.BLAST_FURNACE,
-            Material.HOPPER, Material.DISPENSER, Material.DROPPER,
-            Material.BEE_NEST, Material.BEEHIVE,
-            Material.BELL, Material.GRINDSTONE, Material.STONECUTTER,
-            Material.CARTOGRAPHY_TABLE, Material.FLETCHING_TABLE, Material.LOOM,
-            Material.SMITHING_TABLE
-    ));
+    private final PropHuntPlugin plugin;
+    private final Map<String, Scan> running;
+    private final ForkJoinPool pool;
 
     public ArenaScanner(PropHuntPlugin plugin) {
         this.plugin = plugin;
+        this.running = new ConcurrentHashMap<>();
+        this.pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("PropHunt-Scanner-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
     }
 
     /**
      * Scans an arena and populates its prop registry.
+     * Chunk snapshots are taken on the server thread, then counted on the
+     * scanner pool; the registry is updated back on the server thread.
+     * Regions of up to {@code scanner.parallel-max-chunks} chunk columns,
+     * all loaded, are snapshotted at once; others are streamed a chunk column at
+     * a time, so chunks are never loaded in bulk on one tick.
+     * Must be called from the server thread.
      *
      * @param arena the arena to scan
-     * @return scan results
+     * @param progress receives progress messages, on the server thread
+     * @return future completing with the scan results, on the server thread
      */
-    public ScanResult scan(Arena arena) {
+    public CompletableFuture<ScanResult> scan(Arena arena, Consumer<String> progress) {
         if (arena.getArenaRegion() == null) {
-            return new ScanResult(false, "Arena region not defined");
+            return CompletableFuture.completedFuture(new ScanResult(false, "Arena region not defined"));
         }
 
         ArenaRegion region = arena.getArenaRegion();
-        PropRegistry registry = arena.getPropRegistry();
 
-        // Check region size
-        int volume = region.getVolume();
-        if (volume > 1000000) {
-            return new ScanResult(false, "Arena region too large (max 1,000,000 blocks)");
+        Scan scan = new Scan();
+        if (running.putIfAbsent(arena.getName().toLowerCase(), scan) != null) {
+            return CompletableFuture.completedFuture(new ScanResult(false, "A scan of this arena is already running"));
         }
 
-        plugin.debug("Scanning arena '%s' with %d blocks", arena.getName(), volume);
-
-        // Track found materials
-        Map<Material, Integer> foundMaterials = new LinkedHashMap<>();
+        // Snapshot cost follows chunk columns, not volume: a flat region can span thousands
+        World world = region.getWorld();
+        scan.total = ((region.getMaxX() >> 4) - (region.getMinX() >> 4) + 1)
+                * ((region.getMaxZ() >> 4) - (region.getMinZ() >> 4) + 1);
+        boolean streaming = scan.total > plugin.getConfigManager().getScanParallelMaxChunks()
+                || !isLoaded(world, region);
+        plugin.debug("Scanning arena '%s' with %d blocks in %d chunk columns (%s)", arena.getName(),
+                region.getVolume(), scan.total, streaming ? "streaming" : "parallel");
         long startTime = System.currentTimeMillis();
 
-        // Scan all blocks
-        region.forEachBlock(block -> {
-            Material material = block.getType();
-            if (isValidPropMaterial(material)) {
-                foundMaterials.merge(material, 1, Integer::sum);
+        int minY = Math.max(region.getMinY(), world.getMinHeight());
+        int maxY = Math.min(region.getMaxY(), world.getMaxHeight() - 1);
+        scan.minSection = world.getMinHeight() >> 4;
+
+        CompletableFuture<long[]> counting;
+        if (streaming) {
+            StreamingScan stream = new StreamingScan(region, minY, maxY, scan);
+            plugin.getServer().getScheduler().runTaskTimer(plugin, stream, 1L, 1L);
+            counting = stream.future;
+        } else {
+            // Every chunk is loaded, so this only copies; snapshots are safe to read from any thread
+            List<ChunkSnapshot> snapshots = new ArrayList<>(scan.total);
+            for (int cx = region.getMinX() >> 4; cx <= region.getMaxX() >> 4; cx++) {
+                for (int cz = region.getMinZ() >> 4; cz <= region.getMaxZ() >> 4; cz++) {
+                    snapshots.add(world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false));
+                }
             }
-        });
+            CountTask task = new CountTask(snapshots, 0, snapshots.size(), region, minY, maxY, scan);
+            counting = CompletableFuture.supplyAsync(task::invoke, pool);
+        }
 
-        // Clear and populate registry
-        registry.clear();
+        BukkitTask reporter = plugin.getServer().getScheduler().runTaskTimer(plugin, () ->
+                progress.accept("Scanning... " + (scan.done.get() * 100 / scan.total) + "% ("
+                        + scan.done.get() + "/" + scan.total + " chunks)"), PROGRESS_INTERVAL, PROGRESS_INTERVAL);
+
+        CompletableFuture<ScanResult> result = new CompletableFuture<>();
+        counting.whenComplete((counts, error) ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    reporter.cancel();
+                    running.remove(arena.getName().toLowerCase(), scan);
+
+                    if (scan.cancelled) {
+                        result.complete(new ScanResult(false, "Scan cancelled"));
+                    } else if (error != null) {
+                        plugin.getLogger().warning("Scan of arena '" + arena.getName() + "' failed: " + error.getMessage());
+                        result.complete(new ScanResult(false, "Scan failed: " + error.getMessage()));
+                    } else {
+                        result.complete(apply(arena, counts, System.currentTimeMillis() - startTime));
+                    }
+                }));
+        return result;
+    }
+
+    /**
+     * Checks if every chunk column of a region is loaded.
+     */
+    private static boolean isLoaded(World world, ArenaRegion region) {
+        for (int cx = region.getMinX() >> 4; cx <= region.getMaxX() >> 4; cx++) {
+            for (int cz = region.getMinZ() >> 4; cz <= region.getMaxZ() >> 4; cz++) {
+                if (!world.isChunkLoaded(cx, cz)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cancels a running scan. The arena's props are left unchanged.
+     *
+     * @param arena the arena
+     * @return true if a scan was running
+     */
+    public boolean cancel(Arena arena) {
+        Scan scan = running.get(arena.getName().toLowerCase());
+        if (scan == null) return false;
+
+        scan.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Checks if an arena is being scanned.
+     *
+     * @param arena the arena
+     * @return true if a scan is running
+     */
+    public boolean isScanning(Arena arena) {
+        return running.containsKey(arena.getName().toLowerCase());
+    }
+
+    /**
+     * Cancels running scans and stops the scanner pool.
+     */
+    public void shutdown() {
+        for (Scan scan : running.values()) {
+            scan.cancelled = true;
+        }
+        pool.shutdownNow();
+    }
+
+    /**
+     * Merges the valid materials found into an arena's props: materials
+     * no longer in the region are removed and new ones added, most common first.
+     * Each prop's weight is set to its block count.
+     */
+    private ScanResult apply(Arena arena, long[] counts, long duration) {
+        PropRegistry registry = arena.getPropRegistry();
+
+        // Track found materials
+        Map<Material, Long> foundMaterials = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 && isValidPropMaterial(MATERIALS[i])) {
+                foundMaterials.put(MATERIALS[i], counts[i]);
+            }
+        }
+
+        // Drop props that are gone
+        for (PropType prop : new ArrayList<>(registry.getProps())) {
+            if (!foundMaterials.containsKey(prop.getMaterial())) {
+                registry.removeProp(prop.getMaterial());
+            }
+        }
 
         // Sort by frequency (most common first)
-        List<Map.Entry<Material, Integer>> sorted = new ArrayList<>(foundMaterials.entrySet());
+        List<Map.Entry<Material, Long>> sorted = new ArrayList<>(foundMaterials.entrySet());
         sorted.sort((a, b) -> b.getValue().compareTo(a.getValue()));
 
-        for (Map.Entry<Material, Integer> entry : sorted) {
+        for (Map.Entry<Material, Long> entry : sorted) {
+            if (registry.isValidProp(entry.getKey())) {
+                registry.setWeight(entry.getKey(), entry.getValue());
+                continue;
+            }
             PropSize size = PropType.determineSizeForMaterial(entry.getKey());
-            registry.addProp(entry.getKey(), size);
+            registry.addProp(entry.getKey(), size, entry.getValue());
         }
 
-        long duration = System.currentTimeMillis() - startTime;
         plugin.debug("Scan completed in %dms, found %d unique prop types",
                 duration, registry.size());
 
@@ -128,38 +214,7 @@ public class ArenaScanner {
      * @return true if valid
      */
     public boolean isValidPropMaterial(Material material) {
-        if (material == null) return false;
-        if (!material.isBlock()) return false;
-        if (BLACKLIST.contains(material)) return false;
-        if (material.isAir()) return false;
-        if (!material.isSolid() && !isDecorativeBlock(material)) return false;
-
-        return true;
-    }
-
-    /**
-     * Checks if a material is a decorative block that makes a good prop.
-     *
-     * @param material the material
-     * @return true if decorative
-     */
-    private boolean isDecorativeBlock(Material material) {
-        String name = material.name();
-
-        return name.contains("FLOWER") ||
-               name.contains("POTTED") ||
-               name.contains("TORCH") ||
-               name.contains("CANDLE") ||
-               name.contains("LANTERN") ||
-               name.contains("CARPET") ||
-               name.contains("BUTTON") ||
-               name.contains("CORAL") ||
-               name.contains("MUSHROOM") ||
-               name.contains("FERN") ||
-               name.contains("GRASS") ||
-               name.contains("SAPLING") ||
-               name.contains("SIGN") ||
-               WHITELIST.contains(material);
+        return PropMaterials.get().isValid(material);
     }
 
     /**
@@ -181,6 +236,177 @@ public class ArenaScanner {
             """;
     }
 
+    /**
+     * State of a running scan, shared with its worker tasks.
+     */
+    private static class Scan {
+        final AtomicInteger done = new AtomicInteger();
+        volatile boolean cancelled;
+        int total;
+        int minSection; // Lowest section Y of the world
+    }
+
+    /**
+     * Counts every material in a range of chunk snapshots, splitting the
+     * range across the pool. Counts are indexed by {@link Material#ordinal()}.
+     */
+    private static class CountTask extends RecursiveTask<long[]> {
+        private final List<ChunkSnapshot> snapshots;
+        private final int from;
+        private final int to;
+        private final ArenaRegion region;
+        private final int minY;
+        private final int maxY;
+        private final Scan scan;
+
+        CountTask(List<ChunkSnapshot> snapshots, int from, int to, ArenaRegion region, int minY, int maxY, Scan scan) {
+            this.snapshots = snapshots;
+            this.from = from;
+            this.to = to;
+            this.region = region;
+            this.minY = minY;
+            this.maxY = maxY;
+            this.scan = scan;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                CountTask left = new CountTask(snapshots, from, mid, region, minY, maxY, scan);
+                left.fork();
+                long[] counts = new CountTask(snapshots, mid, to, region, minY, maxY, scan).compute();
+                long[] other = left.join();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += other[i];
+                }
+                return counts;
+            }
+
+            long[] counts = new long[MATERIALS.length];
+            if (from == to || scan.cancelled) return counts;
+
+            countChunk(snapshots.get(from), region, minY, maxY, scan, counts);
+            scan.done.incrementAndGet();
+            return counts;
+        }
+    }
+
+    /**
+     * Streams a large region a chunk column at a time. Runs every tick on
+     * the server thread, snapshotting columns until the tick budget is spent
+     * or enough are waiting to be counted; chunks it had to load are
+     * released straight away. Memory stays bounded by the columns in flight.
+     */
+    private class StreamingScan implements Consumer<BukkitTask> {
+        private final CompletableFuture<long[]> future = new CompletableFuture<>();
+        private final long[] totals = new long[MATERIALS.length];
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final ArenaRegion region;
+        private final int minY;
+        private final int maxY;
+        private final Scan scan;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int depth; // chunk columns along Z
+        private int next;
+
+        StreamingScan(ArenaRegion region, int minY, int maxY, Scan scan) {
+            this.region = region;
+            this.minY = minY;
+            this.maxY = maxY;
+            this.scan = scan;
+            this.minChunkX = region.getMinX() >> 4;
+            this.minChunkZ = region.getMinZ() >> 4;
+            this.depth = (region.getMaxZ() >> 4) - minChunkZ + 1;
+        }
+
+        @Override
+        public void accept(BukkitTask task) {
+            // Stop loading columns once cancelled, or once a column has failed the scan
+            if (scan.cancelled || future.isDone()) {
+                task.cancel();
+                future.complete(totals);
+                return;
+            }
+
+            World world = region.getWorld();
+            long budget = TimeUnit.MILLISECONDS.toNanos(plugin.getConfigManager().getScanTickBudget());
+            long start = System.nanoTime();
+            int maxInFlight = pool.getParallelism() * 2;
+
+            while (next < scan.total && inFlight.get() < maxInFlight && System.nanoTime() - start < budget) {
+                int chunkX = minChunkX + next / depth;
+                int chunkZ = minChunkZ + next % depth;
+                next++;
+
+                boolean wasLoaded = world.isChunkLoaded(chunkX, chunkZ);
+                ChunkSnapshot snapshot = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+                if (!wasLoaded) {
+                    world.unloadChunkRequest(chunkX, chunkZ);
+                }
+
+                inFlight.incrementAndGet();
+                pool.execute(() -> count(snapshot));
+            }
+
+            if (next >= scan.total) {
+                task.cancel();
+            }
+        }
+
+        /**
+         * Counts one column on the pool and adds it to the totals.
+         */
+        private void count(ChunkSnapshot snapshot) {
+            try {
+                long[] counts = new long[MATERIALS.length];
+                countChunk(snapshot, region, minY, maxY, scan, counts);
+                synchronized (totals) {
+                    for (int i = 0; i < counts.length; i++) {
+                        totals[i] += counts[i];
+                    }
+                }
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                inFlight.decrementAndGet();
+                if (scan.done.incrementAndGet() == scan.total) {
+                    future.complete(totals);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the materials of the part of a chunk column inside a region to
+     * counts indexed by {@link Material#ordinal()}, one section at a time.
+     * All-air sections are skipped without reading their blocks.
+     */
+    private static void countChunk(ChunkSnapshot snapshot, ArenaRegion region, int minY, int maxY,
+                                   Scan scan, long[] counts) {
+        int baseX = snapshot.getX() << 4;
+        int baseZ = snapshot.getZ() << 4;
+        int x0 = Math.max(region.getMinX(), baseX) - baseX;
+        int x1 = Math.min(region.getMaxX(), baseX + 15) - baseX;
+        int z0 = Math.max(region.getMinZ(), baseZ) - baseZ;
+        int z1 = Math.min(region.getMaxZ(), baseZ + 15) - baseZ;
+
+        for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+            if (snapshot.isSectionEmpty(sectionY - scan.minSection)) continue;
+
+            int y0 = Math.max(minY, sectionY << 4);
+            int y1 = Math.min(maxY, (sectionY << 4) + 15);
+            for (int y = y0; y <= y1; y++) {
+                for (int z = z0; z <= z1; z++) {
+                    for (int x = x0; x <= x1; x++) {
+                        counts[snapshot.getBlockType(x, y, z).ordinal()]++;
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Result of an arena scan.
      */
@@ -6,20 +6,30 @@ import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
  * Registry of valid props for an arena.
  * Only blocks that exist in the arena can be used as props.
+ * Each prop has a weight, how many blocks of it the last scan found, and
+ * random props are drawn from Walker alias tables built from the weights.
  */
 public class PropRegistry {
 
     private final Map<Material, PropType> props;
     private final Map<PropSize, List<PropType>> propsBySize;
+    private final Map<Material, Long> weights;
+
+    // Alias tables, rebuilt on first use after the props change
+    private Sampler sampler;
+    private final Map<PropSize, Sampler> sizeSamplers;
 
     public PropRegistry() {
         this.props = new LinkedHashMap<>();
         this.propsBySize = new EnumMap<>(PropSize.class);
+        this.weights = new HashMap<>();
+        this.sizeSamplers = new EnumMap<>(PropSize.class);
         for (PropSize size : PropSize.values()) {
             propsBySize.put(size, new ArrayList<>());
         }
@@ -33,8 +43,12 @@ public class PropRegistry {
     public void addProp(PropType propType) {
         if (propType == null || propType.getMaterial() == null) return;
 
-        props.put(propType.getMaterial(), propType);
+        PropType replaced = props.put(propType.getMaterial(), propType);
+        if (replaced != null) {
+            propsBySize.get(replaced.getSize()).remove(replaced);
+        }
         propsBySize.get(propType.getSize()).add(propType);
+        invalidateSamplers();
     }
 
     /**
@@ -61,6 +75,44 @@ public class PropRegistry {
         addProp(new PropType(material, size));
     }
 
+    /**
+     * Adds a prop by material with specified size and weight.
+     *
+     * @param material the material
+     * @param size the size
+     * @param weight how common the prop is, e.g. its block count
+     */
+    public void addProp(Material material, PropSize size, long weight) {
+        if (material == null || !material.isBlock() || size == null) return;
+
+        addProp(new PropType(material, size));
+        setWeight(material, weight);
+    }
+
+    /**
+     * Sets how common a prop is. Weighted random props are picked in
+     * proportion to it.
+     *
+     * @param material the material
+     * @param weight the weight, at least 1
+     */
+    public void setWeight(Material material, long weight) {
+        if (!props.containsKey(material)) return;
+
+        weights.put(material, Math.max(1, weight));
+        invalidateSamplers();
+    }
+
+    /**
+     * Gets how common a prop is.
+     *
+     * @param material the material
+     * @return the weight; 1 if the prop has none
+     */
+    public long getWeight(Material material) {
+        return weights.getOrDefault(material, 1L);
+    }
+
     /**
      * Removes a prop from the registry.
      *
@@ -71,6 +123,8 @@ public class PropRegistry {
         PropType removed = props.remove(material);
         if (removed != null) {
             propsBySize.get(removed.getSize()).remove(removed);
+            weights.remove(material);
+            invalidateSamplers();
             return true;
         }
         return false;
@@ -129,26 +183,51 @@ public class PropRegistry {
     }
 
     /**
-     * Gets a random prop.
+     * Gets a random prop, weighted by how common it is.
      *
      * @return random prop, or null if empty
      */
     public PropType getRandomProp() {
-        if (props.isEmpty()) return null;
-        List<PropType> propList = new ArrayList<>(props.values());
-        return propList.get(new Random().nextInt(propList.size()));
+        return getRandomProp(true);
     }
 
     /**
-     * Gets a random prop of a specific size.
+     * Gets a random prop.
+     *
+     * @param weighted true to favor common props, false for equal odds
+     * @return random prop, or null if empty
+     */
+    public PropType getRandomProp(boolean weighted) {
+        if (sampler == null) {
+            sampler = Sampler.build(props.values(), weights);
+        }
+        return sampler.sample(weighted);
+    }
+
+    /**
+     * Gets a random prop of a specific size, weighted by how common it is.
      *
      * @param size the size
      * @return random prop of that size, or null if none
      */
     public PropType getRandomProp(PropSize size) {
-        List<PropType> sizedProps = propsBySize.get(size);
-        if (sizedProps.isEmpty()) return null;
-        return sizedProps.get(new Random().nextInt(sizedProps.size()));
+        return getRandomProp(size, true);
+    }
+
+    /**
+     * Gets a random prop of a specific size.
+     *
+     * @param size the size
+     * @param weighted true to favor common props, false for equal odds
+     * @return random prop of that size, or null if none
+     */
+    public PropType getRandomProp(PropSize size, boolean weighted) {
+        Sampler sized = sizeSamplers.get(size);
+        if (sized == null) {
+            sized = Sampler.build(propsBySize.get(size), weights);
+            sizeSamplers.put(size, sized);
+        }
+        return sized.sample(weighted);
     }
 
     /**
@@ -159,6 +238,13 @@ public class PropRegistry {
         for (PropSize size : PropSize.values()) {
             propsBySize.get(size).clear();
         }
+        weights.clear();
+        invalidateSamplers();
+    }
+
+    private void invalidateSamplers() {
+        sampler = null;
+        sizeSamplers.clear();
     }
 
     /**
@@ -191,6 +277,11 @@ public class PropRegistry {
                     .collect(Collectors.toList());
             section.set(size.name().toLowerCase(), materials);
         }
+
+        ConfigurationSection weightSection = section.createSection("weights");
+        for (Map.Entry<Material, Long> entry : weights.entrySet()) {
+            weightSection.set(entry.getKey().name(), entry.getValue());
+        }
     }
 
     /**
@@ -213,6 +304,16 @@ public class PropRegistry {
                 }
             }
         }
+
+        ConfigurationSection weightSection = section.getConfigurationSection("weights");
+        if (weightSection == null) return;
+
+        for (String materialName : weightSection.getKeys(false)) {
+            Material material = Material.getMaterial(materialName.toUpperCase());
+            if (material != null) {
+                setWeight(material, weightSection.getLong(materialName));
+            }
+        }
     }
 
     /**
@@ -239,4 +340,83 @@ public class PropRegistry {
                 ", large=" + propsBySize.get(PropSize.LARGE).size() +
                 '}';
     }
+
+    /**
+     * Walker alias table over a fixed list of props. Immutable; a draw is
+     * O(1) and allocates nothing.
+     */
+    private static final class Sampler {
+        private final PropType[] props;
+        private final double[] probability; // Chance of keeping slot i rather than its alias
+        private final int[] alias;
+
+        private Sampler(PropType[] props, double[] probability, int[] alias) {
+            this.props = props;
+            this.probability = probability;
+            this.alias = alias;
+        }
+
+        /**
+         * Builds the table with Vose's method.
+         */
+        static Sampler build(Collection<PropType> propTypes, Map<Material, Long> weights) {
+            PropType[] props = propTypes.toArray(new PropType[0]);
+            int n = props.length;
+            double[] scaled = new double[n];
+            double total = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = weights.getOrDefault(props[i].getMaterial(), 1L);
+                total += scaled[i];
+            }
+
+            // Scale so the average slot is 1, then pair each under-full slot with an over-full one
+            double[] probability = new double[n];
+            int[] alias = new int[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = scaled[i] * n / total;
+                if (scaled[i] < 1) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                probability[less] = scaled[less];
+                alias[less] = more;
+                scaled[more] += scaled[less] - 1;
+                if (scaled[more] < 1) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+
+            // Whatever is left is full, up to rounding
+            while (largeCount > 0) {
+                probability[large[--largeCount]] = 1;
+            }
+            while (smallCount > 0) {
+                probability[small[--smallCount]] = 1;
+            }
+            return new Sampler(props, probability, alias);
+        }
+
+        PropType sample(boolean weighted) {
+            if (props.length == 0) return null;
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int i = random.nextInt(props.length);
+            if (!weighted || random.nextDouble() < probability[i]) {
+                return props[i];
+            }
+            return props[alias[i]];
+        }
+    }
 }
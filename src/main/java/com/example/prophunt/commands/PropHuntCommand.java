@@ -3,16 +3,16 @@ package com.example.prophunt.commands;
 import com.example.prophunt.PropHuntPlugin;
 import com.example.prophunt.arena.Arena;
 import com.example.prophunt.arena.ArenaRegion;
-import com.example.prophunt.arena.ArenaScanner;
 import com.example.prophunt.game.Game;
 import com.example.prophunt.game.GameState;
 import com.example.prophunt.managers.SelectionManager;
 import com.example.prophunt.player.GamePlayer;
 import com.example.prophunt.stats.PlayerStats;
+import com.example.prophunt.stats.StatsExporter;
 import com.example.prophunt.stats.StatsManager;
+import com.example.prophunt.stats.StatsWindow;
 import com.example.prophunt.util.MessageUtil;
 import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -38,7 +38,7 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
     private static final List<String> ADMIN_COMMANDS = Arrays.asList(
             "create", "delete", "setup", "setspawn", "setregion",
             "scan", "enable", "disable", "forcestart", "forcestop",
-            "reload", "info"
+            "reload", "info", "export"
     );
 
     public PropHuntCommand(PropHuntPlugin plugin) {
@@ -78,6 +78,7 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
             case "forcestop" -> handleForceStop(sender, subArgs);
             case "reload" -> handleReload(sender);
             case "info" -> handleInfo(sender, subArgs);
+            case "export" -> handleExport(sender, subArgs);
 
             default -> {
                 sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&cUnknown command. Use /ph help"));
@@ -188,17 +189,18 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
 
         if (args.length > 0) {
             // Look up another player's stats
-            @SuppressWarnings("deprecation")
-            OfflinePlayer offline = Bukkit.getOfflinePlayer(args[0]);
-            if (!offline.hasPlayedBefore() && !offline.isOnline()) {
-                sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&cPlayer not found: " + args[0]));
-                return;
-            }
-            if (offline.isOnline()) {
-                targetPlayer = offline.getPlayer();
-            } else {
-                // For offline players, we'd need async lookup - for now show error
-                sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&cPlayer must be online to view stats."));
+            targetPlayer = Bukkit.getPlayerExact(args[0]);
+            if (targetPlayer == null) {
+                // Offline players are found by their last known name
+                String name = args[0];
+                plugin.getStatsManager().getStatsByNameAsync(name).thenAccept(stats ->
+                        plugin.getServer().getScheduler().runTask(plugin, () -> {
+                            if (stats == null) {
+                                sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&cPlayer not found: " + name));
+                                return;
+                            }
+                            showStats(sender, stats.getLastKnownName(), stats);
+                        }));
                 return;
             }
         } else {
@@ -209,9 +211,14 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
             targetPlayer = (Player) sender;
         }
 
-        PlayerStats stats = plugin.getStatsManager().getStats(targetPlayer);
+        // Display once loaded; normally already cached from join
+        plugin.getStatsManager().getStatsAsync(targetPlayer).thenAccept(stats ->
+                plugin.getServer().getScheduler().runTask(plugin, () ->
+                        showStats(sender, targetPlayer.getName(), stats)));
+    }
 
-        sender.sendMessage(MessageUtil.colorize("&6&l========== " + targetPlayer.getName() + "'s Stats =========="));
+    private void showStats(CommandSender sender, String name, PlayerStats stats) {
+        sender.sendMessage(MessageUtil.colorize("&6&l========== " + name + "'s Stats =========="));
         sender.sendMessage(MessageUtil.colorize("&7Games: &f" + stats.getGamesPlayed() +
                 " &7| Wins: &a" + stats.getGamesWon() +
                 " &7| Losses: &c" + stats.getGamesLost()));
@@ -248,16 +255,32 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
             }
         }
 
-        final StatsManager.StatType finalStatType = statType;
-        sender.sendMessage(MessageUtil.colorize("&6&l========== Leaderboard: " + statType.getDisplayName() + " =========="));
-
-        plugin.getStatsManager().getTopPlayers(statType, 10).thenAccept(topPlayers -> {
-            if (topPlayers.isEmpty()) {
-                sender.sendMessage(MessageUtil.colorize("&7No statistics recorded yet."));
+        StatsWindow window = StatsWindow.LIFETIME;
+        if (args.length > 1) {
+            window = StatsWindow.fromString(args[1]);
+            if (window == null) {
+                sender.sendMessage(msg.getPrefix() + MessageUtil.colorize(
+                        "&cInvalid period. Valid: daily, weekly, season, lifetime"));
+                return;
+            }
+            if (window.isWindowed() && !plugin.getStatsManager().hasWindows()) {
+                sender.sendMessage(msg.getPrefix() + MessageUtil.colorize(
+                        "&c" + window.getDisplayName() + " leaderboards need the sqlite or h2 storage."));
                 return;
             }
+        }
+
+        final StatsManager.StatType finalStatType = statType;
+        sender.sendMessage(MessageUtil.colorize("&6&l========== Leaderboard: " + statType.getDisplayName()
+                + (window.isWindowed() ? " (" + window.getDisplayName() + ")" : "") + " =========="));
+
+        plugin.getLeaderboardManager().getLeaderboard(statType, window).thenAccept(topPlayers ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (topPlayers.isEmpty()) {
+                    sender.sendMessage(MessageUtil.colorize("&7No statistics recorded yet."));
+                    return;
+                }
 
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
                 int rank = 1;
                 for (PlayerStats stats : topPlayers) {
                     String value = switch (finalStatType) {
@@ -277,8 +300,7 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
                     rank++;
                 }
                 sender.sendMessage(MessageUtil.colorize("&6&l============================================"));
-            });
-        });
+            }));
     }
 
     private String formatPlayTime(long seconds) {
@@ -296,6 +318,7 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(MessageUtil.colorize("&e/ph leave &7- Leave current game"));
         sender.sendMessage(MessageUtil.colorize("&e/ph list &7- List arenas"));
         sender.sendMessage(MessageUtil.colorize("&e/ph stats [player] &7- View statistics"));
+        sender.sendMessage(MessageUtil.colorize("&e/ph top [stat] [daily|weekly|season] &7- View leaderboards"));
         sender.sendMessage(MessageUtil.colorize("&e/ph help &7- Show this help"));
 
         if (sender.hasPermission("prophunt.admin")) {
@@ -305,10 +328,11 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage(MessageUtil.colorize("&e/ph delete <arena> &7- Delete arena"));
             sender.sendMessage(MessageUtil.colorize("&e/ph setspawn <type> &7- Set spawn (prop/hunter/lobby)"));
             sender.sendMessage(MessageUtil.colorize("&e/ph setregion <type> &7- Set region"));
-            sender.sendMessage(MessageUtil.colorize("&e/ph scan <arena> &7- Scan for props"));
+            sender.sendMessage(MessageUtil.colorize("&e/ph scan <arena> [cancel] &7- Scan for props"));
             sender.sendMessage(MessageUtil.colorize("&e/ph enable/disable <arena> &7- Toggle arena"));
             sender.sendMessage(MessageUtil.colorize("&e/ph forcestart/forcestop <arena> &7- Control games"));
             sender.sendMessage(MessageUtil.colorize("&e/ph reload &7- Reload config"));
+            sender.sendMessage(MessageUtil.colorize("&e/ph export [csv|json] &7- Export all stats to a file"));
         }
         sender.sendMessage(MessageUtil.colorize("&6&l===================================="));
     }
@@ -519,7 +543,7 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
         if (!checkAdmin(sender)) return;
 
         if (args.length == 0) {
-            sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&cUsage: /ph scan <arena>"));
+            sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&cUsage: /ph scan <arena> [cancel]"));
             return;
         }
 
@@ -529,6 +553,15 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
+        if (args.length > 1 && args[1].equalsIgnoreCase("cancel")) {
+            if (plugin.getArenaManager().getScanner().cancel(arena)) {
+                sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&7Cancelling scan..."));
+            } else {
+                sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&cNo scan is running for this arena."));
+            }
+            return;
+        }
+
         if (arena.getArenaRegion() == null) {
             sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&cArena region not set! Set it first."));
             return;
@@ -536,13 +569,15 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
 
         sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&7Scanning arena..."));
 
-        ArenaScanner.ScanResult result = plugin.getArenaManager().scanArena(arena);
-
-        if (result.isSuccess()) {
-            sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&a" + result.getSummary()));
-        } else {
-            sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&c" + result.getError()));
-        }
+        plugin.getArenaManager().scanArena(arena, message ->
+                sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&7" + message))
+        ).thenAccept(result -> {
+            if (result.isSuccess()) {
+                sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&a" + result.getSummary()));
+            } else {
+                sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&c" + result.getError()));
+            }
+        });
     }
 
     private void handleEnable(CommandSender sender, String[] args) {
@@ -661,6 +696,12 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(MessageUtil.colorize("&7Hunter Spawns: &e" + arena.getHunterSpawns().size()));
         sender.sendMessage(MessageUtil.colorize("&7Valid Props: &e" + arena.getPropRegistry().size()));
 
+        Game game = plugin.getGameManager().getGame(arena);
+        if (game != null) {
+            sender.sendMessage(MessageUtil.colorize("&7State: &e" + game.getState()));
+            sender.sendMessage(MessageUtil.colorize("&7Pending Callbacks: &e" + game.getScheduler().getPendingCount()));
+        }
+
         List<String> missing = arena.validate();
         if (!missing.isEmpty()) {
             sender.sendMessage(MessageUtil.colorize("&c&lMissing:"));
@@ -668,6 +709,35 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
                 sender.sendMessage(MessageUtil.colorize("  &7- " + m));
             }
         }
+
+        // Match history arrives from the loader thread
+        plugin.getStatsManager().getArenaSummary(arena.getName(), 7).thenAccept(summary -> {
+            if (summary == null) return;
+            plugin.getServer().getScheduler().runTask(plugin, () ->
+                    sender.sendMessage(MessageUtil.colorize("&7Last 7 Days: &e" + summary.getMatches() + " matches"
+                            + " &7(Props &a" + summary.getPropWins() + "&7, Hunters &c" + summary.getHunterWins()
+                            + "&7, avg &e" + Math.round(summary.getAverageDuration()) + "s&7)")));
+        });
+    }
+
+    private void handleExport(CommandSender sender, String[] args) {
+        if (!checkAdmin(sender)) return;
+
+        StatsExporter.Format format = StatsExporter.Format.fromString(args.length > 0 ? args[0] : "csv");
+        if (format == null) {
+            sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&cUsage: /ph export [csv|json]"));
+            return;
+        }
+
+        sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&7Exporting stats as " + format.getExtension() + "..."));
+        plugin.getStatsManager().exportStats(format).whenComplete((file, error) ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&cExport failed: " + error.getMessage()));
+                    } else {
+                        sender.sendMessage(msg.getPrefix() + MessageUtil.colorize("&aStats exported to &e" + file.getName()));
+                    }
+                }));
     }
 
     private boolean checkAdmin(CommandSender sender) {
@@ -714,6 +784,15 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
                 }
             }
 
+            // Export format completion
+            if (sub.equals("export")) {
+                for (String format : Arrays.asList("csv", "json")) {
+                    if (format.startsWith(partial)) {
+                        completions.add(format);
+                    }
+                }
+            }
+
             // Spawn type completion
             if (sub.equals("setspawn")) {
                 for (String type : Arrays.asList("prop", "hunter", "lobby")) {
@@ -735,6 +814,20 @@ public class PropHuntCommand implements CommandExecutor, TabCompleter {
                 }
             }
 
+            // Cancel a running scan
+            if (sub.equals("scan") && "cancel".startsWith(partial)) {
+                completions.add("cancel");
+            }
+
+            // Leaderboard period after stat type
+            if (sub.equals("top")) {
+                for (String period : Arrays.asList("daily", "weekly", "season", "lifetime")) {
+                    if (period.startsWith(partial)) {
+                        completions.add(period);
+                    }
+                }
+            }
+
             // Region type after arena name
             if (sub.equals("setregion")) {
                 for (String type : Arrays.asList("arena", "lobby", "huntercage")) {
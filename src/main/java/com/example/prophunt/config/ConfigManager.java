@@ -1,8 +1,12 @@
 package com.example.prophunt.config;
 
 import com.example.prophunt.PropHuntPlugin;
+import com.example.prophunt.disguise.PropMaterials;
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
 /**
  * Manages plugin configuration loading and access.
  */
@@ -15,6 +19,27 @@ public class ConfigManager {
     private boolean debug;
     private String language;
 
+    // Disguise sync settings
+    private double disguiseSyncPositionEpsilon;
+    private float disguiseSyncRotationEpsilon;
+    private boolean randomPropWeighted;
+    private boolean autoAssignDisguise;
+
+    // Stats write-behind settings
+    private int statsBatchSize;
+    private int statsFlushInterval;
+    private int statsShutdownTimeout;
+    private int statsCacheMaxSize;
+    private int statsCacheIdleTime;
+    private int statsSqliteCacheSize;
+    private int statsSqliteMmapSize;
+    private int matchHistoryRetentionDays;
+    private int statsExportRate;
+    private long seasonStartDay;
+    private int scanParallelMaxChunks;
+    private int scanTickBudget;
+    private int seasonLength;
+
     public ConfigManager(PropHuntPlugin plugin) {
         this.plugin = plugin;
         reload();
@@ -31,6 +56,38 @@ public class ConfigManager {
         debug = config.getBoolean("general.debug", false);
         language = config.getString("general.language", "en");
 
+        // Disguise sync
+        disguiseSyncPositionEpsilon = Math.max(0, config.getDouble("disguises.sync.position-epsilon", 0.01));
+        disguiseSyncRotationEpsilon = (float) Math.max(0, config.getDouble("disguises.sync.rotation-epsilon", 0.5));
+        randomPropWeighted = config.getBoolean("disguises.random.weighted", true);
+        autoAssignDisguise = config.getBoolean("disguises.random.auto-assign", false);
+
+        // Stats writer
+        statsBatchSize = Math.max(1, config.getInt("storage.write-behind.batch-size", 50));
+        statsFlushInterval = Math.max(1, config.getInt("storage.write-behind.flush-interval", 5));
+        statsShutdownTimeout = Math.max(1, config.getInt("storage.write-behind.shutdown-timeout", 20));
+        statsCacheMaxSize = Math.max(1, config.getInt("storage.cache.max-size", 500));
+        statsCacheIdleTime = Math.max(0, config.getInt("storage.cache.idle-time", 300));
+        statsSqliteCacheSize = Math.max(0, config.getInt("storage.sqlite.cache-size", 16384));
+        statsSqliteMmapSize = Math.max(0, config.getInt("storage.sqlite.mmap-size", 256));
+        matchHistoryRetentionDays = Math.max(0, config.getInt("storage.match-history.retention-days", 30));
+        statsExportRate = Math.max(0, config.getInt("storage.export.rows-per-second", 20000));
+
+        // Arena scanner
+        scanParallelMaxChunks = Math.max(0, config.getInt("scanner.parallel-max-chunks", 64));
+        scanTickBudget = Math.max(1, config.getInt("scanner.tick-budget", 5));
+        PropMaterials.load(config.getConfigurationSection("scanner.materials"), plugin.getLogger());
+
+        // Leaderboard seasons
+        String seasonStart = config.getString("leaderboards.season.start", "2026-01-01");
+        try {
+            seasonStartDay = LocalDate.parse(seasonStart).toEpochDay();
+        } catch (DateTimeParseException e) {
+            plugin.getLogger().warning("Invalid leaderboards.season.start '" + seasonStart + "', using 2026-01-01");
+            seasonStartDay = LocalDate.of(2026, 1, 1).toEpochDay();
+        }
+        seasonLength = Math.max(1, config.getInt("leaderboards.season.length-days", 30));
+
         // Load default game settings
         defaultGameSettings = loadGameSettings(config);
 
@@ -105,12 +162,168 @@ public class ConfigManager {
     }
 
     /**
-     * Gets the storage type.
+     * Gets the minimum movement before a disguise is teleported.
+     *
+     * @return position epsilon in blocks
+     */
+    public double getDisguiseSyncPositionEpsilon() {
+        return disguiseSyncPositionEpsilon;
+    }
+
+    /**
+     * Gets the minimum yaw, pitch or rotation change before a disguise is resent.
+     *
+     * @return rotation epsilon in degrees
+     */
+    public float getDisguiseSyncRotationEpsilon() {
+        return disguiseSyncRotationEpsilon;
+    }
+
+    /**
+     * Checks if random disguises favor the blocks most common in the arena.
+     *
+     * @return true if weighted, false for equal odds
+     */
+    public boolean isRandomPropWeighted() {
+        return randomPropWeighted;
+    }
+
+    /**
+     * Checks if props without a disguise get a random one when hunting starts.
+     *
+     * @return true if enabled
+     */
+    public boolean isAutoAssignDisguise() {
+        return autoAssignDisguise;
+    }
+
+    /**
+     * Gets how many queued stats rows trigger an immediate flush.
+     *
+     * @return batch size
+     */
+    public int getStatsBatchSize() {
+        return statsBatchSize;
+    }
+
+    /**
+     * Gets the maximum time queued stats wait before being written.
+     *
+     * @return flush interval in seconds
+     */
+    public int getStatsFlushInterval() {
+        return statsFlushInterval;
+    }
+
+    /**
+     * Gets how long shutdown waits for queued stats to be written before
+     * setting them aside for recovery.
+     *
+     * @return timeout in seconds
+     */
+    public int getStatsShutdownTimeout() {
+        return statsShutdownTimeout;
+    }
+
+    /**
+     * Gets the stats cache size above which offline players are evicted early.
+     *
+     * @return maximum cached players
+     */
+    public int getStatsCacheMaxSize() {
+        return statsCacheMaxSize;
+    }
+
+    /**
+     * Gets how long an offline player's stats stay cached.
+     *
+     * @return idle time in seconds
+     */
+    public int getStatsCacheIdleTime() {
+        return statsCacheIdleTime;
+    }
+
+    /**
+     * Gets the SQLite page cache size per connection.
+     *
+     * @return cache size in KiB
+     */
+    public int getStatsSqliteCacheSize() {
+        return statsSqliteCacheSize;
+    }
+
+    /**
+     * Gets how much of the stats database SQLite may memory-map.
+     *
+     * @return mmap size in MiB (0 disables)
+     */
+    public int getStatsSqliteMmapSize() {
+        return statsSqliteMmapSize;
+    }
+
+    /**
+     * Gets how long individual matches are kept before being rolled up
+     * into daily totals.
+     *
+     * @return retention in days (0 keeps matches forever)
+     */
+    public int getMatchHistoryRetentionDays() {
+        return matchHistoryRetentionDays;
+    }
+
+    /**
+     * Gets how fast stats exports read from the storage backend.
+     *
+     * @return rows per second (0 is unlimited)
+     */
+    public int getStatsExportRate() {
+        return statsExportRate;
+    }
+
+    /**
+     * Gets the largest region scanned by snapshotting every chunk at once.
+     * Larger regions are streamed a chunk column at a time.
+     *
+     * @return size in chunk columns
+     */
+    public int getScanParallelMaxChunks() {
+        return scanParallelMaxChunks;
+    }
+
+    /**
+     * Gets how long a streaming scan may spend loading chunks each tick.
+     *
+     * @return budget in milliseconds
+     */
+    public int getScanTickBudget() {
+        return scanTickBudget;
+    }
+
+    /**
+     * Gets the first day of the first leaderboard season.
+     *
+     * @return days since the epoch
+     */
+    public long getSeasonStartDay() {
+        return seasonStartDay;
+    }
+
+    /**
+     * Gets the length of a leaderboard season.
+     *
+     * @return length in days
+     */
+    public int getSeasonLength() {
+        return seasonLength;
+    }
+
+    /**
+     * Gets the stats storage backend.
      *
-     * @return storage type string
+     * @return storage type string (sqlite, h2 or journal)
      */
     public String getStorageType() {
-        return plugin.getConfig().getString("storage.type", "yaml");
+        return plugin.getConfig().getString("storage.type", "sqlite");
     }
 
     /**
@@ -18,11 +18,21 @@ public class DisguiseManager {
 
     private final PropHuntPlugin plugin;
     private final Map<UUID, PropDisguise> disguises;
+    private final Map<UUID, PropDisguise> disguisesByEntity; // display entity UUID -> disguise
+    private final DisguiseSyncEngine syncEngine;
     private BukkitTask updateTask;
 
+    // Sync stats reporting (debug only)
+    private static final int SYNC_REPORT_INTERVAL = 200; // ticks
+    private int ticksSinceReport;
+    private long reportedSent;
+    private long reportedSkipped;
+
     public DisguiseManager(PropHuntPlugin plugin) {
         this.plugin = plugin;
         this.disguises = new HashMap<>();
+        this.disguisesByEntity = new HashMap<>();
+        this.syncEngine = new DisguiseSyncEngine(plugin);
         startUpdateTask();
     }
 
@@ -30,16 +40,32 @@ public class DisguiseManager {
      * Starts the position update task.
      */
     private void startUpdateTask() {
-        // Update disguise positions every tick
+        // Sync disguise positions every tick (unchanged disguises are skipped)
         updateTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            for (PropDisguise disguise : disguises.values()) {
-                if (disguise.isActive() && !disguise.isLocked()) {
-                    disguise.updatePosition();
-                }
-            }
+            syncEngine.tick(disguises.values());
+            reportSyncStats();
         }, 1L, 1L);
     }
 
+    /**
+     * Logs sync savings periodically when debug mode is enabled.
+     */
+    private void reportSyncStats() {
+        if (++ticksSinceReport < SYNC_REPORT_INTERVAL) return;
+        ticksSinceReport = 0;
+
+        long sent = syncEngine.getTotalSent() - reportedSent;
+        long skipped = syncEngine.getTotalSkipped() - reportedSkipped;
+        reportedSent = syncEngine.getTotalSent();
+        reportedSkipped = syncEngine.getTotalSkipped();
+
+        if (sent + skipped > 0) {
+            plugin.debug("Disguise sync: %d sent, %d skipped over last %d ticks (last tick: %d/%d)",
+                    sent, skipped, SYNC_REPORT_INTERVAL,
+                    syncEngine.getLastTickSent(), syncEngine.getLastTickSkipped());
+        }
+    }
+
     /**
      * Creates a disguise for a prop player.
      *
@@ -51,10 +77,16 @@ public class DisguiseManager {
         // Remove existing disguise if any
         removeDisguise(propPlayer);
 
-        PropDisguise disguise = new PropDisguise(propPlayer);
+        // Applying spawns the display entity, which registers it in the entity index
+        PropDisguise disguise = new PropDisguise(this, propPlayer);
         disguise.apply(propType);
         disguises.put(propPlayer.getUuid(), disguise);
 
+        // Register the blocks it occupies for hit detection
+        if (propPlayer.getGame() != null) {
+            propPlayer.getGame().getPropIndex().add(propPlayer, propPlayer.getLocation(), disguise.getScale());
+        }
+
         // Effects
         Player player = propPlayer.getPlayer();
         SoundUtil.playDisguise(player);
@@ -115,6 +147,8 @@ public class DisguiseManager {
     public void removeDisguise(PropPlayer propPlayer) {
         PropDisguise disguise = disguises.remove(propPlayer.getUuid());
         if (disguise != null) {
+            unindexEntity(disguise);
+            unindexBlocks(disguise);
             disguise.remove();
             plugin.debug("Removed disguise for %s", propPlayer.getName());
         }
@@ -128,6 +162,8 @@ public class DisguiseManager {
     public void removeDisguise(Player player) {
         PropDisguise disguise = disguises.remove(player.getUniqueId());
         if (disguise != null) {
+            unindexEntity(disguise);
+            unindexBlocks(disguise);
             disguise.remove();
         }
     }
@@ -137,9 +173,47 @@ public class DisguiseManager {
      */
     public void removeAllDisguises() {
         for (PropDisguise disguise : new ArrayList<>(disguises.values())) {
+            unindexBlocks(disguise);
             disguise.remove();
         }
         disguises.clear();
+        disguisesByEntity.clear();
+    }
+
+    /**
+     * Updates the entity index after a disguise (re)spawns its display entity.
+     *
+     * @param disguise the disguise
+     * @param previous the display entity it replaced, or null
+     */
+    void reindexEntity(PropDisguise disguise, BlockDisplay previous) {
+        if (previous != null) {
+            disguisesByEntity.remove(previous.getUniqueId(), disguise);
+        }
+        BlockDisplay current = disguise.getDisplayEntity();
+        if (current != null) {
+            disguisesByEntity.put(current.getUniqueId(), disguise);
+        }
+    }
+
+    /**
+     * Removes a disguise from its game's block index.
+     */
+    private void unindexBlocks(PropDisguise disguise) {
+        PropPlayer propPlayer = disguise.getPropPlayer();
+        if (propPlayer.getGame() != null) {
+            propPlayer.getGame().getPropIndex().remove(propPlayer);
+        }
+    }
+
+    /**
+     * Removes a disguise's display entity from the entity index.
+     */
+    private void unindexEntity(PropDisguise disguise) {
+        BlockDisplay entity = disguise.getDisplayEntity();
+        if (entity != null) {
+            disguisesByEntity.remove(entity.getUniqueId(), disguise);
+        }
     }
 
     /**
@@ -203,13 +277,8 @@ public class DisguiseManager {
             return null;
         }
 
-        for (PropDisguise disguise : disguises.values()) {
-            if (disguise.getDisplayEntity() != null &&
-                disguise.getDisplayEntity().equals(entity)) {
-                return disguise.getPropPlayer();
-            }
-        }
-        return null;
+        PropDisguise disguise = disguisesByEntity.get(entity.getUniqueId());
+        return disguise != null ? disguise.getPropPlayer() : null;
     }
 
     /**
@@ -219,7 +288,7 @@ public class DisguiseManager {
      * @return true if it's a disguise
      */
     public boolean isDisguiseEntity(Entity entity) {
-        return findByEntity(entity) != null;
+        return entity instanceof BlockDisplay && disguisesByEntity.containsKey(entity.getUniqueId());
     }
 
     /**
@@ -240,6 +309,15 @@ public class DisguiseManager {
         return disguises.size();
     }
 
+    /**
+     * Gets the disguise sync engine.
+     *
+     * @return the sync engine
+     */
+    public DisguiseSyncEngine getSyncEngine() {
+        return syncEngine;
+    }
+
     /**
      * Cleans up orphaned display entities.
      */
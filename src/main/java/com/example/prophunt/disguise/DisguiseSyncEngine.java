@@ -0,0 +1,106 @@
+package com.example.prophunt.disguise;
+
+import com.example.prophunt.PropHuntPlugin;
+import com.example.prophunt.config.ConfigManager;
+import org.bukkit.Location;
+
+import java.util.Collection;
+
+/**
+ * Keeps display entities in sync with their props each tick.
+ * Only disguises whose player moved or turned past the configured
+ * epsilon are teleported or re-transformed.
+ */
+public class DisguiseSyncEngine {
+
+    private final PropHuntPlugin plugin;
+    private final Location scratch;
+
+    // Counts for the most recent tick
+    private int lastTickSent;
+    private int lastTickSkipped;
+
+    // Running totals since startup
+    private long totalSent;
+    private long totalSkipped;
+
+    public DisguiseSyncEngine(PropHuntPlugin plugin) {
+        this.plugin = plugin;
+        this.scratch = new Location(null, 0, 0, 0);
+    }
+
+    /**
+     * Syncs all unlocked, active disguises.
+     *
+     * @param disguises the disguises to sync
+     */
+    public void tick(Collection<PropDisguise> disguises) {
+        ConfigManager config = plugin.getConfigManager();
+        double positionEpsilon = config.getDisguiseSyncPositionEpsilon();
+        float angleEpsilon = config.getDisguiseSyncRotationEpsilon();
+
+        int sent = 0;
+        int skipped = 0;
+
+        for (PropDisguise disguise : disguises) {
+            if (!disguise.isActive() || disguise.isLocked()) continue;
+
+            if (disguise.sync(scratch, positionEpsilon, angleEpsilon)) {
+                sent++;
+            } else {
+                skipped++;
+            }
+        }
+
+        lastTickSent = sent;
+        lastTickSkipped = skipped;
+        totalSent += sent;
+        totalSkipped += skipped;
+    }
+
+    /**
+     * Gets the number of disguises updated in the last tick.
+     *
+     * @return sent count
+     */
+    public int getLastTickSent() {
+        return lastTickSent;
+    }
+
+    /**
+     * Gets the number of disguises skipped in the last tick.
+     *
+     * @return skipped count
+     */
+    public int getLastTickSkipped() {
+        return lastTickSkipped;
+    }
+
+    /**
+     * Gets the total number of updates sent since startup.
+     *
+     * @return total sent
+     */
+    public long getTotalSent() {
+        return totalSent;
+    }
+
+    /**
+     * Gets the total number of updates skipped since startup.
+     *
+     * @return total skipped
+     */
+    public long getTotalSkipped() {
+        return totalSkipped;
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void resetCounters() {
+        lastTickSent = 0;
+        lastTickSkipped = 0;
+        totalSent = 0;
+        totalSkipped = 0;
+    }
+}
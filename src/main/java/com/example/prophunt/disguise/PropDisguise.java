@@ -2,6 +2,7 @@ package com.example.prophunt.disguise;
 
 import com.example.prophunt.player.PropPlayer;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.BlockDisplay;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
@@ -16,6 +17,7 @@ import org.joml.Vector3f;
  */
 public class PropDisguise {
 
+    private final DisguiseManager manager;
     private final PropPlayer propPlayer;
     private PropType propType;
     private BlockDisplay displayEntity;
@@ -24,6 +26,13 @@ public class PropDisguise {
     private float rotation;
     private float transparency; // 0 = opaque, 1 = invisible
 
+    // Last state sent to the display entity (used to skip redundant updates)
+    private World sentWorld;
+    private double sentX, sentY, sentZ;
+    private float sentYaw, sentPitch;
+    private float sentRotation;
+    private boolean positionSynced;
+
     // Constants
     private static final float GHOST_TRANSPARENCY = 0.5f;
     private static final float SOLID_TRANSPARENCY = 0f;
@@ -31,9 +40,11 @@ public class PropDisguise {
     /**
      * Creates a new prop disguise.
      *
+     * @param manager the owning disguise manager
      * @param propPlayer the prop player
      */
-    public PropDisguise(PropPlayer propPlayer) {
+    public PropDisguise(DisguiseManager manager, PropPlayer propPlayer) {
+        this.manager = manager;
         this.propPlayer = propPlayer;
         this.locked = false;
         this.rotation = 0;
@@ -71,6 +82,7 @@ public class PropDisguise {
      * Spawns the BlockDisplay entity.
      */
     private void spawnDisplayEntity() {
+        BlockDisplay previous = displayEntity;
         if (displayEntity != null) {
             displayEntity.remove();
         }
@@ -81,6 +93,7 @@ public class PropDisguise {
         // Spawn BlockDisplay at player location
         displayEntity = (BlockDisplay) player.getWorld().spawnEntity(
                 loc, EntityType.BLOCK_DISPLAY);
+        markPositionSent(loc);
 
         // Set the block data
         displayEntity.setBlock(propType.getBlockData());
@@ -94,6 +107,9 @@ public class PropDisguise {
 
         // Hide the entity from the player wearing it
         player.hideEntity(propPlayer.getGame().getPlugin(), displayEntity);
+
+        // Keep the entity lookup index pointing at the new entity
+        manager.reindexEntity(this, previous);
     }
 
     /**
@@ -134,6 +150,17 @@ public class PropDisguise {
         // Set interpolation for smooth movement
         displayEntity.setInterpolationDuration(2);
         displayEntity.setInterpolationDelay(0);
+
+        sentRotation = rotation;
+    }
+
+    /**
+     * Gets the current display scale.
+     *
+     * @return scale (1.0 = full block)
+     */
+    public float getScale() {
+        return propType != null ? getScaleForSize(propType.getSize()) : 1.0f;
     }
 
     /**
@@ -149,6 +176,7 @@ public class PropDisguise {
 
     /**
      * Updates the disguise position to follow the player.
+     * Always teleports and re-transforms; use {@link #sync} from the tick loop.
      */
     public void updatePosition() {
         if (displayEntity == null || !displayEntity.isValid()) return;
@@ -158,11 +186,69 @@ public class PropDisguise {
 
         // Teleport display entity to player
         displayEntity.teleport(playerLoc);
+        markPositionSent(playerLoc);
 
         // Update transformation for any rotation changes
         updateTransformation();
     }
 
+    /**
+     * Syncs the display entity with the player, only sending what changed.
+     * Yaw and pitch are both checked, since the display follows the player's
+     * full facing just as {@link #updatePosition()} does.
+     *
+     * @param scratch reusable location to read the player's position into
+     * @param positionEpsilon minimum movement (blocks) before teleporting
+     * @param angleEpsilon minimum yaw, pitch or rotation change (degrees) before resending
+     * @return true if a teleport or transformation was sent
+     */
+    public boolean sync(Location scratch, double positionEpsilon, float angleEpsilon) {
+        if (displayEntity == null || !displayEntity.isValid()) return false;
+
+        propPlayer.getPlayer().getLocation(scratch);
+        boolean sent = false;
+
+        if (!positionSynced
+                || scratch.getWorld() != sentWorld
+                || Math.abs(scratch.getX() - sentX) > positionEpsilon
+                || Math.abs(scratch.getY() - sentY) > positionEpsilon
+                || Math.abs(scratch.getZ() - sentZ) > positionEpsilon
+                || angleDifference(scratch.getYaw(), sentYaw) > angleEpsilon
+                || Math.abs(scratch.getPitch() - sentPitch) > angleEpsilon) {
+            displayEntity.teleport(scratch);
+            markPositionSent(scratch);
+            sent = true;
+        }
+
+        if (angleDifference(rotation, sentRotation) > angleEpsilon) {
+            updateTransformation();
+            sent = true;
+        }
+
+        return sent;
+    }
+
+    /**
+     * Records a location as the last one sent to the display entity.
+     */
+    private void markPositionSent(Location loc) {
+        sentWorld = loc.getWorld();
+        sentX = loc.getX();
+        sentY = loc.getY();
+        sentZ = loc.getZ();
+        sentYaw = loc.getYaw();
+        sentPitch = loc.getPitch();
+        positionSynced = true;
+    }
+
+    /**
+     * Gets the absolute difference between two angles in degrees (0-180).
+     */
+    private static float angleDifference(float a, float b) {
+        float diff = Math.abs(a - b) % 360;
+        return diff > 180 ? 360 - diff : diff;
+    }
+
     /**
      * Sets the locked state.
      *
@@ -260,6 +346,7 @@ public class PropDisguise {
             displayEntity.remove();
             displayEntity = null;
         }
+        positionSynced = false;
 
         // Reset health
         player.setMaxHealth(20);
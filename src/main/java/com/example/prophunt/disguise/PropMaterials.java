@@ -0,0 +1,212 @@
+package com.example.prophunt.disguise;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Which materials make valid props, and at what size.
+ * Rules are material names with {@code *} wildcards; a rule starting with
+ * {@code !} takes out materials an earlier rule let in, and the last
+ * matching rule wins. The built-in rules can be extended or overridden
+ * in {@code scanner.materials}. Every material is classified once, when
+ * the config is loaded, so a lookup is a single array read.
+ */
+public final class PropMaterials {
+
+    private static final Material[] MATERIALS = Material.values();
+
+    // Materials that should never be props
+    private static final List<String> BLACKLIST = List.of(
+            // Air and technical blocks
+            "AIR", "CAVE_AIR", "VOID_AIR",
+            "BARRIER", "STRUCTURE_VOID", "STRUCTURE_BLOCK",
+            "COMMAND_BLOCK", "CHAIN_COMMAND_BLOCK", "REPEATING_COMMAND_BLOCK",
+            "JIGSAW", "LIGHT",
+
+            // Liquids
+            "WATER", "LAVA",
+
+            // Dangerous/problematic blocks
+            "BEDROCK", "END_PORTAL", "END_PORTAL_FRAME",
+            "NETHER_PORTAL", "END_GATEWAY",
+            "SPAWNER", "INFESTED_*",
+
+            // Moving/piston blocks
+            "MOVING_PISTON", "PISTON_HEAD",
+
+            // Redstone that's too technical
+            "REDSTONE_WIRE", "COMPARATOR", "REPEATER",
+
+            // Fire
+            "FIRE", "SOUL_FIRE",
+
+            // Too big or unusual
+            "DRAGON_EGG", "CHORUS_PLANT", "CHORUS_FLOWER"
+    );
+
+    // Decorative blocks that make good props even though they aren't solid
+    private static final List<String> WHITELIST = List.of(
+            "*FLOWER*", "*POTTED*", "*TORCH*", "*CANDLE*", "*LANTERN*", "*CARPET*",
+            "*BUTTON*", "*CORAL*", "*MUSHROOM*", "*FERN*", "*GRASS*", "*SAPLING*", "*SIGN*",
+
+            // Classic hide-and-seek props
+            "BARREL", "CHEST", "TRAPPED_CHEST",
+            "FURNACE", "CRAFTING_TABLE", "CAULDRON",
+            "FLOWER_POT", "LANTERN", "SOUL_LANTERN",
+            "DECORATED_POT", "CAMPFIRE", "SOUL_CAMPFIRE",
+            "ANVIL", "CHIPPED_ANVIL", "DAMAGED_ANVIL",
+            "BREWING_STAND", "ENCHANTING_TABLE",
+            "LECTERN", "COMPOSTER", "SMOKER", "BLAST_FURNACE",
+            "HOPPER", "DISPENSER", "DROPPER",
+            "BEE_NEST", "BEEHIVE",
+            "BELL", "GRINDSTONE", "STONECUTTER",
+            "CARTOGRAPHY_TABLE", "FLETCHING_TABLE", "LOOM",
+            "SMITHING_TABLE"
+    );
+
+    private static final List<String> SMALL = List.of(
+            "*BUTTON*", "*TORCH*", "*CANDLE*", "*FLOWER*", "*SAPLING*", "*LEVER*",
+            "*PRESSURE_PLATE*", "*TRIPWIRE*", "DEAD_BUSH", "FERN", "GRASS", "*PICKLE*",
+            "*CORAL*", "!*CORAL*BLOCK*",
+            "*MUSHROOM*", "!*MUSHROOM*BLOCK*", "!*MUSHROOM*STEM*"
+    );
+
+    private static final List<String> LARGE = List.of(
+            "*BARREL*", "*CHEST*", "*FURNACE*", "*CRAFTING*", "*CAULDRON*", "*COMPOSTER*",
+            "*LECTERN*", "*SMOKER*", "*BLAST*", "*ANVIL*", "*BREWING*", "*ENCHANTING*",
+            "*HOPPER*", "*DISPENSER*", "*DROPPER*", "*OBSERVER*", "*PISTON*", "*BED*",
+            "*SHULKER*", "*BEACON*", "*CONDUIT*"
+    );
+
+    private static volatile PropMaterials active = load(null, null);
+
+    private final boolean[] valid;
+    private final boolean[] decorative;
+    private final PropSize[] sizes;
+
+    private PropMaterials(boolean[] valid, boolean[] decorative, PropSize[] sizes) {
+        this.valid = valid;
+        this.decorative = decorative;
+        this.sizes = sizes;
+    }
+
+    /**
+     * Gets the rules from the last config load.
+     *
+     * @return the active rules
+     */
+    public static PropMaterials get() {
+        return active;
+    }
+
+    /**
+     * Classifies every material using the built-in rules followed by the
+     * rules in a config section, and makes the result the active rules.
+     *
+     * @param section the {@code scanner.materials} section, or null for the built-in rules
+     * @param logger receives warnings about unknown material names, or null
+     * @return the new rules
+     */
+    public static PropMaterials load(ConfigurationSection section, Logger logger) {
+        Rules blacklist = new Rules(BLACKLIST, section, "blacklist", logger);
+        Rules whitelist = new Rules(WHITELIST, section, "whitelist", logger);
+        Rules small = new Rules(SMALL, section, "small", logger);
+        Rules large = new Rules(LARGE, section, "large", logger);
+
+        boolean[] valid = new boolean[MATERIALS.length];
+        boolean[] decorative = new boolean[MATERIALS.length];
+        PropSize[] sizes = new PropSize[MATERIALS.length];
+        for (Material material : MATERIALS) {
+            int i = material.ordinal();
+            String name = material.name();
+            sizes[i] = small.matches(name) ? PropSize.SMALL : large.matches(name) ? PropSize.LARGE : PropSize.MEDIUM;
+            if (material.isLegacy()) continue;
+
+            decorative[i] = whitelist.matches(name);
+            valid[i] = material.isBlock() && !material.isAir() && !blacklist.matches(name)
+                    && (material.isSolid() || decorative[i]);
+        }
+
+        PropMaterials materials = new PropMaterials(valid, decorative, sizes);
+        active = materials;
+        return materials;
+    }
+
+    /**
+     * Checks if a material is valid for use as a prop.
+     *
+     * @param material the material
+     * @return true if valid
+     */
+    public boolean isValid(Material material) {
+        return material != null && valid[material.ordinal()];
+    }
+
+    /**
+     * Checks if a material is a decorative block that makes a good prop.
+     *
+     * @param material the material
+     * @return true if decorative
+     */
+    public boolean isDecorative(Material material) {
+        return material != null && decorative[material.ordinal()];
+    }
+
+    /**
+     * Gets the size category for a material.
+     *
+     * @param material the material
+     * @return the prop size
+     */
+    public PropSize getSize(Material material) {
+        return sizes[material.ordinal()];
+    }
+
+    /**
+     * An ordered list of name patterns.
+     */
+    private static class Rules {
+        private final List<Pattern> patterns = new ArrayList<>();
+        private final List<Boolean> excludes = new ArrayList<>();
+
+        Rules(List<String> defaults, ConfigurationSection section, String key, Logger logger) {
+            defaults.forEach(this::add);
+            if (section == null) return;
+
+            for (String rule : section.getStringList(key)) {
+                String name = (rule.startsWith("!") ? rule.substring(1) : rule).trim();
+                if (logger != null && name.indexOf('*') < 0 && Material.getMaterial(name.toUpperCase()) == null) {
+                    logger.warning("Unknown material '" + name + "' in scanner.materials." + key);
+                }
+                add(rule);
+            }
+        }
+
+        private void add(String rule) {
+            boolean exclude = rule.startsWith("!");
+            String glob = (exclude ? rule.substring(1) : rule).trim().toUpperCase();
+            String[] parts = glob.split("\\*", -1);
+            StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) regex.append(".*");
+                regex.append(Pattern.quote(parts[i]));
+            }
+            patterns.add(Pattern.compile(regex.toString()));
+            excludes.add(exclude);
+        }
+
+        boolean matches(String name) {
+            boolean matched = false;
+            for (int i = 0; i < patterns.size(); i++) {
+                if (patterns.get(i).matcher(name).matches()) {
+                    matched = !excludes.get(i);
+                }
+            }
+            return matched;
+        }
+    }
+}
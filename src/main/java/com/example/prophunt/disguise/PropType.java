@@ -111,37 +111,14 @@ public class PropType {
     }
 
     /**
-     * Determines the size category for a material based on its properties.
+     * Determines the size category for a material.
+     * Uses the rules precomputed by {@link PropMaterials}.
      *
      * @param material the material to categorize
      * @return the appropriate PropSize
      */
     public static PropSize determineSizeForMaterial(Material material) {
-        String name = material.name();
-
-        // Small props
-        if (name.contains("BUTTON") || name.contains("TORCH") || name.contains("CANDLE") ||
-            name.contains("FLOWER") || name.contains("SAPLING") || name.contains("LEVER") ||
-            name.contains("PRESSURE_PLATE") || name.contains("TRIPWIRE") ||
-            name.equals("DEAD_BUSH") || name.equals("FERN") || name.equals("GRASS") ||
-            name.contains("CORAL") && !name.contains("BLOCK") || name.contains("PICKLE") ||
-            name.contains("MUSHROOM") && !name.contains("BLOCK") && !name.contains("STEM")) {
-            return PropSize.SMALL;
-        }
-
-        // Large props
-        if (name.contains("BARREL") || name.contains("CHEST") || name.contains("FURNACE") ||
-            name.contains("CRAFTING") || name.contains("CAULDRON") || name.contains("COMPOSTER") ||
-            name.contains("LECTERN") || name.contains("SMOKER") || name.contains("BLAST") ||
-            name.contains("ANVIL") || name.contains("BREWING") || name.contains("ENCHANTING") ||
-            name.contains("HOPPER") || name.contains("DISPENSER") || name.contains("DROPPER") ||
-            name.contains("OBSERVER") || name.contains("PISTON") || name.contains("BED") ||
-            name.contains("SHULKER") || name.contains("BEACON") || name.contains("CONDUIT")) {
-            return PropSize.LARGE;
-        }
-
-        // Default to medium
-        return PropSize.MEDIUM;
+        return PropMaterials.get().getSize(material);
     }
 
     @Override
@@ -4,9 +4,12 @@ import com.example.prophunt.PropHuntPlugin;
 import com.example.prophunt.api.events.*;
 import com.example.prophunt.arena.Arena;
 import com.example.prophunt.config.GameSettings;
+import com.example.prophunt.disguise.PropType;
 import com.example.prophunt.player.GamePlayer;
 import com.example.prophunt.player.HunterPlayer;
 import com.example.prophunt.player.PropPlayer;
+import com.example.prophunt.stats.MatchRecord;
+import com.example.prophunt.stats.StatsDelta;
 import com.example.prophunt.team.Team;
 import com.example.prophunt.team.TeamManager;
 import com.example.prophunt.util.MessageUtil;
@@ -30,6 +33,8 @@ public class Game {
     private final GameSettings settings;
     private final TeamManager teamManager;
     private final GameTimer timer;
+    private final TimingWheel scheduler;
+    private final PropBlockIndex propIndex;
 
     private GameState state;
     private final Map<UUID, GamePlayer> waitingPlayers;
@@ -43,6 +48,8 @@ public class Game {
         this.settings = arena.getSettings().copy();
         this.teamManager = new TeamManager(this);
         this.timer = new GameTimer(plugin, this);
+        this.scheduler = new TimingWheel(plugin);
+        this.propIndex = new PropBlockIndex();
         this.state = GameState.WAITING;
         this.waitingPlayers = new HashMap<>();
     }
@@ -78,6 +85,9 @@ public class Game {
             return false;
         }
 
+        // Usually already loaded on server join; no-op if cached
+        plugin.getStatsManager().preload(player);
+
         GamePlayer gamePlayer = new GamePlayer(player, this);
         gamePlayer.saveState();
         gamePlayer.prepare();
@@ -179,7 +189,7 @@ public class Game {
         if (state == GameState.WAITING || state == GameState.STARTING) {
             return waitingPlayers.size();
         }
-        return teamManager.getAllPlayers().size();
+        return teamManager.getPlayerCount();
     }
 
     // ===== Game State Management =====
@@ -253,6 +263,11 @@ public class Game {
         teamManager.assignTeams(waitingPlayers.values(), settings);
         waitingPlayers.clear();
 
+        // Track the team wrappers in place of the lobby players
+        for (GamePlayer gp : teamManager.getAllPlayers()) {
+            plugin.getPlayerManager().addPlayer(gp);
+        }
+
         // Setup props
         for (PropPlayer prop : teamManager.getProps()) {
             setupProp(prop);
@@ -371,6 +386,19 @@ public class Game {
             SoundUtil.playHuntersReleased(player);
         }
 
+        // Disguise alive props that haven't picked a prop, if enabled
+        if (plugin.getConfigManager().isAutoAssignDisguise()) {
+            boolean weighted = plugin.getConfigManager().isRandomPropWeighted();
+            for (PropPlayer prop : teamManager.getAliveProps()) {
+                if (prop.isDisguised()) continue;
+                PropType propType = arena.getPropRegistry().getRandomProp(weighted);
+                if (propType != null) {
+                    plugin.getDisguiseManager().createDisguise(prop, propType);
+                    sendMessage(prop.getPlayer(), "prop.auto-disguised", "block", propType.getDisplayName());
+                }
+            }
+        }
+
         // Notify props
         for (PropPlayer prop : teamManager.getProps()) {
             plugin.getMessageUtil().sendTitle(prop.getPlayer(),
@@ -386,6 +414,10 @@ public class Game {
         // Start hunting timer
         timer.start(settings.getSeekTime(),
                 remaining -> {
+                    // Mechanics run off the hunting clock
+                    plugin.getLateGameManager().tick(this);
+                    plugin.getTauntManager().tick(this);
+
                     // Late game notifications
                     if (remaining == 120) { // 2 minutes
                         broadcastRawMessage("&e&lThe hunt intensifies!");
@@ -493,6 +525,7 @@ public class Game {
      */
     public void reset() {
         timer.stop();
+        scheduler.cancelAll();
 
         // Stop mechanics managers if still running
         plugin.getTauntManager().stopForcedTaunts(this);
@@ -516,6 +549,7 @@ public class Game {
         }
 
         // Clear state
+        propIndex.clear();
         teamManager.clear();
         waitingPlayers.clear();
         winner = null;
@@ -529,55 +563,69 @@ public class Game {
      * @param winner the winning team
      */
     private void savePlayerStats(Team winner) {
+        long now = System.currentTimeMillis();
         long gameDurationMs = getGameDuration();
         long gameDurationSeconds = gameDurationMs / 1000;
 
+        MatchRecord match = new MatchRecord(arena.getName(), gameStartTime, (int) gameDurationSeconds, winner.name());
+        List<StatsDelta> deltas = new ArrayList<>();
         for (GamePlayer gp : teamManager.getAllPlayers()) {
-            com.example.prophunt.stats.PlayerStats stats = plugin.getStatsManager().getStats(gp.getPlayer());
+            StatsDelta delta = new StatsDelta(gp.getUuid(), gp.getName());
 
             // Update general stats
-            stats.incrementGamesPlayed();
-            stats.addPlayTime(gameDurationSeconds);
-            stats.addPoints(gp.getPoints());
-
-            if (gp.getPoints() > stats.getHighestGamePoints()) {
-                stats.setHighestGamePoints(gp.getPoints());
-            }
+            delta.incrementGamesPlayed();
+            delta.addPlayTime(gameDurationSeconds);
+            delta.addPoints(gp.getPoints());
+            delta.updateHighestGamePoints(gp.getPoints());
 
             // Check win/loss
             boolean won = (gp.getTeam() == winner) ||
                           (gp.isSpectator() && wasOnTeam(gp, winner));
             if (won) {
-                stats.incrementGamesWon();
+                delta.incrementGamesWon();
             } else {
-                stats.incrementGamesLost();
+                delta.incrementGamesLost();
             }
 
             // Team-specific stats
             if (gp instanceof PropPlayer prop) {
-                stats.incrementTimesAsProp();
+                delta.incrementTimesAsProp();
                 if (prop.getTeam() == Team.PROPS) {
                     // Still alive at end
-                    stats.incrementPropSurvives();
-                    stats.addHiddenTime(prop.getTimeInGame());
+                    delta.incrementPropSurvives();
+                    delta.addHiddenTime(prop.getTimeInGame());
                 } else if (prop.isSpectator()) {
                     // Was eliminated
-                    stats.incrementPropDeaths();
+                    delta.incrementPropDeaths();
                 }
-                stats.addSuccessfulTaunts(prop.getVoluntaryTaunts());
+                delta.addSuccessfulTaunts(prop.getVoluntaryTaunts());
+                match.addParticipant(gp.getUuid(), Team.PROPS.name(), gp.getPoints(),
+                        prop.getTimesFound(), getSurvivalSeconds(gp, now));
             } else if (gp instanceof HunterPlayer hunter) {
-                stats.incrementTimesAsHunter();
-                stats.addPropsFound(hunter.getPropsFound());
-                stats.addPropsKilled(hunter.getPropsKilled());
-                stats.addWrongHits(hunter.getWrongHits());
+                delta.incrementTimesAsHunter();
+                delta.addPropsFound(hunter.getPropsFound());
+                delta.addPropsKilled(hunter.getPropsKilled());
+                delta.addWrongHits(hunter.getWrongHits());
                 if (hunter.isSpectator()) {
-                    stats.incrementHunterDeaths();
+                    delta.incrementHunterDeaths();
                 }
+                match.addParticipant(gp.getUuid(), Team.HUNTERS.name(), gp.getPoints(),
+                        hunter.getPropsFound(), getSurvivalSeconds(gp, now));
             }
 
-            // Save to database
-            plugin.getStatsManager().saveStats(stats);
+            deltas.add(delta);
         }
+
+        // Written as one batch
+        plugin.getStatsManager().recordGame(deltas, match);
+    }
+
+    /**
+     * Gets how long a player lasted this round, in seconds.
+     */
+    private int getSurvivalSeconds(GamePlayer gp, long now) {
+        long end = gp.getEliminatedTime() > 0 ? gp.getEliminatedTime() : now;
+        return (int) Math.max(0, (end - gameStartTime) / 1000);
     }
 
     // ===== State Management =====
@@ -707,6 +755,14 @@ public class Game {
         return timer;
     }
 
+    public TimingWheel getScheduler() {
+        return scheduler;
+    }
+
+    public PropBlockIndex getPropIndex() {
+        return propIndex;
+    }
+
     public Team getWinner() {
         return winner;
     }
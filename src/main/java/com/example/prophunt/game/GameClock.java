@@ -0,0 +1,60 @@
+package com.example.prophunt.game;
+
+import com.example.prophunt.PropHuntPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Single plugin-wide clock that drives every game.
+ * One scheduler task advances each game's timer and timing wheel every tick,
+ * so scheduler load does not grow with the number of arenas or pending
+ * callbacks.
+ */
+public class GameClock {
+
+    private final PropHuntPlugin plugin;
+    private BukkitTask clockTask;
+    private long currentTick;
+
+    public GameClock(PropHuntPlugin plugin) {
+        this.plugin = plugin;
+        startClockTask();
+    }
+
+    /**
+     * Starts the clock task.
+     */
+    private void startClockTask() {
+        clockTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Advances the clock by one tick.
+     */
+    private void tick() {
+        currentTick++;
+
+        for (Game game : plugin.getGameManager().getGames()) {
+            game.getTimer().tick(currentTick);
+            game.getScheduler().advance();
+        }
+    }
+
+    /**
+     * Gets the current clock tick.
+     *
+     * @return ticks since the clock started
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Stops the clock.
+     */
+    public void shutdown() {
+        if (clockTask != null) {
+            clockTask.cancel();
+            clockTask = null;
+        }
+    }
+}
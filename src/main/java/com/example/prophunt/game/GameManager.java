@@ -57,12 +57,7 @@ public class GameManager {
      * @return the game, or null
      */
     public Game getPlayerGame(Player player) {
-        for (Game game : games.values()) {
-            if (game.isInGame(player)) {
-                return game;
-            }
-        }
-        return null;
+        return plugin.getPlayerManager().getPlayerGame(player);
     }
 
     /**
@@ -72,7 +67,7 @@ public class GameManager {
      * @return true if in a game
      */
     public boolean isInGame(Player player) {
-        return getPlayerGame(player) != null;
+        return plugin.getPlayerManager().isInGame(player);
     }
 
     /**
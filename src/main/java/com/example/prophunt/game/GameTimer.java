@@ -1,20 +1,24 @@
 package com.example.prophunt.game;
 
 import com.example.prophunt.PropHuntPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.function.Consumer;
 
 /**
  * Manages game timers and countdowns.
+ * Timers are driven by the plugin-wide {@link GameClock} rather than owning
+ * a scheduler task.
  */
 public class GameTimer {
 
+    private static final long TICKS_PER_SECOND = 20L;
+
     private final PropHuntPlugin plugin;
     private final Game game;
 
-    private BukkitTask currentTask;
+    private Consumer<Integer> onTick;
+    private Runnable onComplete;
+    private long nextSecondTick;
     private int timeRemaining;
     private boolean running;
 
@@ -35,35 +39,39 @@ public class GameTimer {
     public void start(int seconds, Consumer<Integer> onTick, Runnable onComplete) {
         stop();
 
+        this.onTick = onTick;
+        this.onComplete = onComplete;
         this.timeRemaining = seconds;
+        this.nextSecondTick = plugin.getGameClock().getCurrentTick() + 1; // First tick on the next server tick
         this.running = true;
+    }
+
+    /**
+     * Advances the timer. Called by the game clock every server tick.
+     *
+     * @param clockTick the current clock tick
+     */
+    void tick(long clockTick) {
+        if (!running || clockTick < nextSecondTick) return;
+        nextSecondTick += TICKS_PER_SECOND;
+
+        // Call tick callback
+        if (onTick != null) {
+            onTick.accept(timeRemaining);
+            if (!running) return; // Stopped from the callback
+        }
 
-        currentTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!running) {
-                    cancel();
-                    return;
-                }
-
-                // Call tick callback
-                if (onTick != null) {
-                    onTick.accept(timeRemaining);
-                }
-
-                // Check if complete
-                if (timeRemaining <= 0) {
-                    running = false;
-                    cancel();
-                    if (onComplete != null) {
-                        onComplete.run();
-                    }
-                    return;
-                }
-
-                timeRemaining--;
+        // Check if complete
+        if (timeRemaining <= 0) {
+            running = false;
+            Runnable complete = onComplete;
+            if (complete != null) {
+                complete.run();
             }
-        }.runTaskTimer(plugin, 0L, 20L); // Run every second
+            return;
+        }
+
+        timeRemaining--;
     }
 
     /**
@@ -71,10 +79,6 @@ public class GameTimer {
      */
     public void stop() {
         running = false;
-        if (currentTask != null) {
-            currentTask.cancel();
-            currentTask = null;
-        }
     }
 
     /**
@@ -82,10 +86,6 @@ public class GameTimer {
      */
     public void pause() {
         running = false;
-        if (currentTask != null) {
-            currentTask.cancel();
-            currentTask = null;
-        }
     }
 
     /**
@@ -157,35 +157,14 @@ public class GameTimer {
     }
 
     /**
-     * Creates a delayed task.
+     * Runs a task after a delay on the game's timing wheel.
+     * The task is cancelled if the game resets first.
      *
      * @param delayTicks delay in ticks
      * @param task the task to run
-     * @return the scheduled task
+     * @return handle to cancel the task
      */
-    public BukkitTask runDelayed(long delayTicks, Runnable task) {
-        return new BukkitRunnable() {
-            @Override
-            public void run() {
-                task.run();
-            }
-        }.runTaskLater(plugin, delayTicks);
-    }
-
-    /**
-     * Creates a repeating task.
-     *
-     * @param delayTicks initial delay
-     * @param periodTicks period between runs
-     * @param task the task to run
-     * @return the scheduled task
-     */
-    public BukkitTask runRepeating(long delayTicks, long periodTicks, Runnable task) {
-        return new BukkitRunnable() {
-            @Override
-            public void run() {
-                task.run();
-            }
-        }.runTaskTimer(plugin, delayTicks, periodTicks);
+    public TimingWheel.Handle runDelayed(long delayTicks, Runnable task) {
+        return game.getScheduler().schedule(delayTicks, task);
     }
 }
@@ -0,0 +1,199 @@
+package com.example.prophunt.game;
+
+import com.example.prophunt.player.PropPlayer;
+import com.example.prophunt.team.Team;
+import org.bukkit.Location;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Spatial index of the blocks occupied by disguised props in a game.
+ * Maps packed block positions to props so a hunter's hit resolves
+ * with a single hash lookup.
+ */
+public class PropBlockIndex {
+
+    // Keeps a disguise flush against a block edge from spilling into the next block
+    private static final double EDGE_EPSILON = 1.0E-4;
+
+    private final Map<Long, List<PropPlayer>> propsByBlock;
+    private final Map<UUID, Footprint> footprints;
+
+    public PropBlockIndex() {
+        this.propsByBlock = new HashMap<>();
+        this.footprints = new HashMap<>();
+    }
+
+    /**
+     * Adds or replaces a prop in the index.
+     *
+     * @param prop the prop player
+     * @param location the prop's location
+     * @param scale the disguise scale (1.0 = full block)
+     */
+    public void add(PropPlayer prop, Location location, float scale) {
+        remove(prop);
+
+        Footprint footprint = new Footprint(prop, scale);
+        footprint.setBounds(location);
+        footprints.put(prop.getUuid(), footprint);
+        insert(footprint);
+    }
+
+    /**
+     * Moves a prop in the index. Only touches the index if the prop's
+     * footprint crossed a block boundary.
+     *
+     * @param prop the prop player
+     * @param location the prop's new location
+     */
+    public void update(PropPlayer prop, Location location) {
+        Footprint footprint = footprints.get(prop.getUuid());
+        if (footprint == null || !footprint.hasChanged(location)) return;
+
+        erase(footprint);
+        footprint.setBounds(location);
+        insert(footprint);
+    }
+
+    /**
+     * Removes a prop from the index.
+     *
+     * @param prop the prop player
+     */
+    public void remove(PropPlayer prop) {
+        Footprint footprint = footprints.remove(prop.getUuid());
+        if (footprint != null) {
+            erase(footprint);
+        }
+    }
+
+    /**
+     * Gets an alive prop occupying a block that passes a check. Several
+     * props may share a block; each is checked in turn.
+     *
+     * @param x block X
+     * @param y block Y
+     * @param z block Z
+     * @param filter the check
+     * @return the first prop passing the check, or null if there is none
+     */
+    public PropPlayer getPropAt(int x, int y, int z, Predicate<PropPlayer> filter) {
+        List<PropPlayer> props = propsByBlock.get(pack(x, y, z));
+        if (props == null) return null;
+
+        for (int i = 0; i < props.size(); i++) {
+            PropPlayer prop = props.get(i);
+            if (prop.getTeam() == Team.PROPS && filter.test(prop)) {
+                return prop;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a prop is indexed.
+     *
+     * @param prop the prop player
+     * @return true if indexed
+     */
+    public boolean contains(PropPlayer prop) {
+        return footprints.containsKey(prop.getUuid());
+    }
+
+    /**
+     * Gets the number of indexed props.
+     *
+     * @return prop count
+     */
+    public int size() {
+        return footprints.size();
+    }
+
+    /**
+     * Clears the index.
+     */
+    public void clear() {
+        propsByBlock.clear();
+        footprints.clear();
+    }
+
+    private void insert(Footprint footprint) {
+        for (int x = footprint.minX; x <= footprint.maxX; x++) {
+            for (int y = footprint.minY; y <= footprint.maxY; y++) {
+                for (int z = footprint.minZ; z <= footprint.maxZ; z++) {
+                    propsByBlock.computeIfAbsent(pack(x, y, z), k -> new ArrayList<>(1))
+                            .add(footprint.prop);
+                }
+            }
+        }
+    }
+
+    private void erase(Footprint footprint) {
+        for (int x = footprint.minX; x <= footprint.maxX; x++) {
+            for (int y = footprint.minY; y <= footprint.maxY; y++) {
+                for (int z = footprint.minZ; z <= footprint.maxZ; z++) {
+                    long key = pack(x, y, z);
+                    List<PropPlayer> props = propsByBlock.get(key);
+                    if (props != null) {
+                        props.remove(footprint.prop);
+                        if (props.isEmpty()) {
+                            propsByBlock.remove(key);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs block coordinates into a single long (26 bits X/Z, 12 bits Y).
+     */
+    static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    /**
+     * Block bounds covered by a scaled disguise centred on the prop's X/Z.
+     */
+    private static class Footprint {
+        final PropPlayer prop;
+        final double halfWidth;
+        final double height;
+        int minX, minY, minZ;
+        int maxX, maxY, maxZ;
+
+        Footprint(PropPlayer prop, float scale) {
+            this.prop = prop;
+            this.halfWidth = scale / 2.0;
+            this.height = scale;
+        }
+
+        void setBounds(Location loc) {
+            minX = lowerBlock(loc.getX() - halfWidth);
+            maxX = upperBlock(loc.getX() + halfWidth);
+            minY = lowerBlock(loc.getY());
+            maxY = upperBlock(loc.getY() + height);
+            minZ = lowerBlock(loc.getZ() - halfWidth);
+            maxZ = upperBlock(loc.getZ() + halfWidth);
+        }
+
+        boolean hasChanged(Location loc) {
+            return minX != lowerBlock(loc.getX() - halfWidth)
+                    || maxX != upperBlock(loc.getX() + halfWidth)
+                    || minY != lowerBlock(loc.getY())
+                    || maxY != upperBlock(loc.getY() + height)
+                    || minZ != lowerBlock(loc.getZ() - halfWidth)
+                    || maxZ != upperBlock(loc.getZ() + halfWidth);
+        }
+
+        private static int lowerBlock(double coord) {
+            return (int) Math.floor(coord);
+        }
+
+        private static int upperBlock(double coord) {
+            return (int) Math.floor(coord - EDGE_EPSILON);
+        }
+    }
+}
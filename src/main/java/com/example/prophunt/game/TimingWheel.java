@@ -0,0 +1,200 @@
+package com.example.prophunt.game;
+
+import com.example.prophunt.PropHuntPlugin;
+
+import java.util.*;
+
+/**
+ * Hierarchical timing wheel for a game's delayed callbacks.
+ * Four levels of 64 slots cover delays of up to 2^24 ticks; scheduling and
+ * cancelling are O(1), and callbacks are cascaded down a level as they get
+ * closer to their due tick. Advanced once per tick by the {@link GameClock}.
+ */
+public class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS; // 64
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final PropHuntPlugin plugin;
+    private final List<Handle>[][] wheels; // [level][slot]
+    private List<Handle> spareSlot;
+    private List<Handle> firing;
+    private long currentTick;
+    private int pendingCount;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(PropHuntPlugin plugin) {
+        this.plugin = plugin;
+        this.wheels = new List[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new ArrayList<>();
+            }
+        }
+        this.spareSlot = new ArrayList<>();
+    }
+
+    /**
+     * Schedules a callback.
+     *
+     * @param delayTicks delay in ticks (at least 1)
+     * @param task the callback
+     * @return a handle that can cancel the callback
+     */
+    public Handle schedule(long delayTicks, Runnable task) {
+        long delay = Math.min(Math.max(1L, delayTicks), MAX_DELAY);
+        Handle handle = new Handle(this, currentTick + delay, task);
+        place(handle);
+        pendingCount++;
+        return handle;
+    }
+
+    /**
+     * Puts a handle in the slot matching its remaining delay.
+     */
+    private void place(Handle handle) {
+        long delta = handle.dueTick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (SLOT_BITS * (level + 1))) || level == LEVELS - 1) {
+                int slot = (int) ((handle.dueTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                wheels[level][slot].add(handle);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Advances the wheel by one tick and runs the callbacks that are due.
+     */
+    void advance() {
+        currentTick++;
+
+        // Cascade higher levels whose slot boundary was just crossed
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) continue;
+
+            List<Handle> bucket = wheels[level][(int) ((currentTick >>> shift) & SLOT_MASK)];
+            if (bucket.isEmpty()) continue;
+
+            List<Handle> moving = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Handle handle : moving) {
+                if (handle.isPending()) {
+                    place(handle);
+                }
+            }
+        }
+
+        int index = (int) (currentTick & SLOT_MASK);
+        if (wheels[0][index].isEmpty()) return;
+
+        // Swap in the spare list so callbacks can schedule into this slot
+        firing = wheels[0][index];
+        wheels[0][index] = spareSlot;
+
+        for (int i = 0; i < firing.size(); i++) {
+            Handle handle = firing.get(i);
+            if (!handle.isPending()) continue; // Cancelled, possibly by an earlier callback
+
+            handle.state = Handle.DONE;
+            pendingCount--;
+            try {
+                handle.task.run();
+            } catch (RuntimeException e) {
+                plugin.getLogger().severe("Error in delayed game task: " + e.getMessage());
+            }
+        }
+
+        firing.clear();
+        spareSlot = firing;
+        firing = null;
+    }
+
+    /**
+     * Cancels every pending callback.
+     */
+    public void cancelAll() {
+        for (List<Handle>[] level : wheels) {
+            for (List<Handle> slot : level) {
+                for (Handle handle : slot) {
+                    handle.state = Handle.CANCELLED;
+                }
+                slot.clear();
+            }
+        }
+        if (firing != null) {
+            for (Handle handle : firing) {
+                if (handle.isPending()) {
+                    handle.state = Handle.CANCELLED;
+                }
+            }
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * Gets the number of callbacks waiting to run.
+     *
+     * @return pending callback count
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * A scheduled callback.
+     */
+    public static final class Handle {
+
+        private static final int PENDING = 0;
+        private static final int DONE = 1;
+        private static final int CANCELLED = 2;
+
+        private final TimingWheel wheel;
+        private final long dueTick;
+        private final Runnable task;
+        private int state;
+
+        private Handle(TimingWheel wheel, long dueTick, Runnable task) {
+            this.wheel = wheel;
+            this.dueTick = dueTick;
+            this.task = task;
+            this.state = PENDING;
+        }
+
+        /**
+         * Cancels the callback if it has not run yet.
+         * The entry is dropped lazily when its slot is reached.
+         *
+         * @return true if the callback was cancelled
+         */
+        public boolean cancel() {
+            if (state != PENDING) return false;
+            state = CANCELLED;
+            wheel.pendingCount--;
+            return true;
+        }
+
+        /**
+         * Checks if the callback is still waiting to run.
+         *
+         * @return true if pending
+         */
+        public boolean isPending() {
+            return state == PENDING;
+        }
+
+        /**
+         * Checks if the callback was cancelled.
+         *
+         * @return true if cancelled
+         */
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.example.prophunt.PropHuntPlugin;
 import com.example.prophunt.api.events.PropFoundEvent;
 import com.example.prophunt.api.events.PropKilledEvent;
 import com.example.prophunt.config.GameSettings;
-import com.example.prophunt.disguise.DisguiseManager;
 import com.example.prophunt.disguise.PropDisguise;
 import com.example.prophunt.game.Game;
 import com.example.prophunt.game.GameState;
@@ -154,22 +153,11 @@ public class CombatListener implements Listener {
      * Finds a prop at a specific block location.
      */
     private PropPlayer findPropAtLocation(Location blockLoc, Game game) {
-        DisguiseManager dm = plugin.getDisguiseManager();
-
-        for (PropPlayer prop : game.getTeamManager().getAliveProps()) {
-            PropDisguise disguise = dm.getDisguise(prop);
-            if (disguise == null || !disguise.isActive()) continue;
-
-            // Check if prop is at this block location
-            Location propLoc = prop.getLocation();
-            if (propLoc.getBlockX() == blockLoc.getBlockX() &&
-                propLoc.getBlockY() == blockLoc.getBlockY() &&
-                propLoc.getBlockZ() == blockLoc.getBlockZ()) {
-                return prop;
-            }
-        }
-
-        return null;
+        return game.getPropIndex().getPropAt(blockLoc.getBlockX(), blockLoc.getBlockY(), blockLoc.getBlockZ(),
+                prop -> {
+                    PropDisguise disguise = plugin.getDisguiseManager().getDisguise(prop);
+                    return disguise != null && disguise.isActive();
+                });
     }
 
     /**
@@ -237,14 +225,14 @@ public class CombatListener implements Listener {
             plugin.getMessageUtil().send(propPlayer, "prop.found");
 
             // Schedule glow removal if they escape
-            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            game.getScheduler().schedule(200L, () -> {
                 if (prop.canHideAgain(10)) { // 10 seconds to escape
                     prop.hide();
                     plugin.getDisguiseManager().setGlowing(prop, false);
                     plugin.getMessageUtil().send(propPlayer, "prop.escaped");
                     prop.addPoints(20);
                 }
-            }, 200L); // 10 seconds
+            }); // 10 seconds
         }
     }
 
@@ -17,6 +17,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.event.player.PlayerToggleSneakEvent;
 
 /**
@@ -62,12 +63,40 @@ public class MovementListener implements Listener {
         }
     }
 
+    /**
+     * Keeps locked props in place. Runs before the MONITOR handlers, so
+     * they all see the destination after the reset.
+     */
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onLockedPropMove(PlayerMoveEvent event) {
+        // Only check for actual position changes
+        if (!hasMovedBlock(event.getFrom(), event.getTo())) {
+            return;
+        }
+
+        GamePlayer gp = plugin.getPlayerManager().getPlayer(event.getPlayer());
+        if (gp == null || !(gp instanceof PropPlayer prop)) return;
+
+        Game game = prop.getGame();
+        if (game == null || !game.getState().isInProgress()) return;
+
+        PropDisguise disguise = plugin.getDisguiseManager().getDisguise(prop);
+        if (disguise == null || !disguise.isActive() || !disguise.isLocked()) return;
+
+        // Reset position but allow rotation
+        Location to = event.getTo().clone();
+        to.setX(event.getFrom().getX());
+        to.setY(event.getFrom().getY());
+        to.setZ(event.getFrom().getZ());
+        event.setTo(to);
+    }
+
     /**
      * Handles prop movement (ghost mode when moving).
      */
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerMove(PlayerMoveEvent event) {
-        // Only check for actual position changes
+        // Only check for actual position changes; locked props were already held in place
         if (!hasMovedBlock(event.getFrom(), event.getTo())) {
             return;
         }
@@ -84,21 +113,7 @@ public class MovementListener implements Listener {
         DisguiseManager dm = plugin.getDisguiseManager();
         PropDisguise disguise = dm.getDisguise(prop);
 
-        if (disguise == null || !disguise.isActive()) return;
-
-        // If locked, prevent movement
-        if (disguise.isLocked()) {
-            // Allow rotation but not movement
-            if (hasMovedPosition(event.getFrom(), event.getTo())) {
-                // Reset position but allow rotation
-                Location to = event.getTo().clone();
-                to.setX(event.getFrom().getX());
-                to.setY(event.getFrom().getY());
-                to.setZ(event.getFrom().getZ());
-                event.setTo(to);
-            }
-            return;
-        }
+        if (disguise == null || !disguise.isActive() || disguise.isLocked()) return;
 
         // Player is moving while unlocked - ghost mode
         disguise.setGhostMode(true);
@@ -112,6 +127,43 @@ public class MovementListener implements Listener {
         // This is handled by the disguise update task
     }
 
+    /**
+     * Keeps the game's prop block index in step with disguised props.
+     * The index itself ignores moves that stay within the same blocks.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPropMoveIndex(PlayerMoveEvent event) {
+        if (!hasMovedPosition(event.getFrom(), event.getTo())) {
+            return;
+        }
+        updatePropIndex(event.getPlayer(), event.getTo());
+    }
+
+    /**
+     * Keeps the prop block index in step with teleported props, which
+     * fire no {@link PlayerMoveEvent}.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPropTeleportIndex(PlayerTeleportEvent event) {
+        if (!hasMovedPosition(event.getFrom(), event.getTo())) {
+            return;
+        }
+        updatePropIndex(event.getPlayer(), event.getTo());
+    }
+
+    /**
+     * Moves a prop in its game's prop block index.
+     */
+    private void updatePropIndex(Player player, Location to) {
+        GamePlayer gp = plugin.getPlayerManager().getPlayer(player);
+        if (gp == null || !(gp instanceof PropPlayer prop)) return;
+
+        Game game = prop.getGame();
+        if (game == null || !game.getState().isInProgress()) return;
+
+        game.getPropIndex().update(prop, to);
+    }
+
     /**
      * Handles sneaking to lock/unlock.
      */
@@ -28,6 +28,9 @@ public class PlayerConnectionListener implements Listener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
 
+        // Load stats off the main thread so games never wait on the database
+        plugin.getStatsManager().preload(player);
+
         // Check if player was in a game (reconnection)
         // For now, we don't support reconnection - they would need to rejoin
     }
@@ -39,6 +42,9 @@ public class PlayerConnectionListener implements Listener {
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
 
+        // Write stats now; the cache entry is evicted once written and idle
+        plugin.getStatsManager().unloadPlayer(player.getUniqueId());
+
         // Check if player is in a game
         GamePlayer gp = plugin.getPlayerManager().getPlayer(player);
         if (gp == null) return;
@@ -13,12 +13,12 @@ import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 
 /**
  * Manages late-game mechanics that help hunters find remaining props.
+ * Monitored games are checked once per second from the hunting timer.
  */
 public class LateGameManager {
 
@@ -39,31 +39,21 @@ public class LateGameManager {
      * Starts monitoring a game for late-game mechanics.
      */
     public void startMonitoring(Game game) {
-        String arenaName = game.getArena().getName();
-        LateGameState state = new LateGameState();
-        gameStates.put(arenaName, state);
-
-        // Schedule periodic check
-        state.task = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            checkLateGame(game);
-        }, 20L, 20L); // Check every second
+        gameStates.put(game.getArena().getName(), new LateGameState());
     }
 
     /**
      * Stops monitoring a game.
      */
     public void stopMonitoring(Game game) {
-        String arenaName = game.getArena().getName();
-        LateGameState state = gameStates.remove(arenaName);
-        if (state != null && state.task != null) {
-            state.task.cancel();
-        }
+        gameStates.remove(game.getArena().getName());
     }
 
     /**
      * Checks and applies late-game mechanics.
+     * Called once per second while the game is hunting.
      */
-    private void checkLateGame(Game game) {
+    public void tick(Game game) {
         if (game.getState() != GameState.HUNTING) {
             stopMonitoring(game);
             return;
@@ -202,11 +192,6 @@ public class LateGameManager {
      * Shuts down the manager.
      */
     public void shutdown() {
-        for (LateGameState state : gameStates.values()) {
-            if (state.task != null) {
-                state.task.cancel();
-            }
-        }
         gameStates.clear();
     }
 
@@ -214,7 +199,6 @@ public class LateGameManager {
      * Tracks late game state for a game.
      */
     private static class LateGameState {
-        BukkitTask task;
         boolean phase1Active;
         boolean phase2Active;
         boolean phase3Active;
@@ -12,7 +12,6 @@ import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
@@ -24,7 +23,7 @@ public class TauntManager {
 
     private final PropHuntPlugin plugin;
     private final Map<UUID, Long> lastVoluntaryTaunt;
-    private final Map<UUID, BukkitTask> forcedTauntTasks;
+    private final Set<String> forcedTauntGames; // arena names
 
     // Taunt sounds to play
     private static final Sound[] TAUNT_SOUNDS = {
@@ -48,43 +47,47 @@ public class TauntManager {
     public TauntManager(PropHuntPlugin plugin) {
         this.plugin = plugin;
         this.lastVoluntaryTaunt = new HashMap<>();
-        this.forcedTauntTasks = new HashMap<>();
+        this.forcedTauntGames = new HashSet<>();
     }
 
     /**
      * Starts forced taunting for a game.
      */
     public void startForcedTaunts(Game game) {
-        int interval = game.getSettings().getForcedTauntInterval();
-        if (interval <= 0) return;
-
-        // Schedule random forced taunts
-        BukkitTask task = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            if (game.getState() != GameState.HUNTING) {
-                stopForcedTaunts(game);
-                return;
-            }
-
-            // Pick a random alive prop
-            List<PropPlayer> aliveProps = game.getTeamManager().getAliveProps();
-            if (aliveProps.isEmpty()) return;
-
-            PropPlayer prop = aliveProps.get(ThreadLocalRandom.current().nextInt(aliveProps.size()));
-            forceTaunt(prop);
-
-        }, interval * 20L, interval * 20L);
-
-        // Store task for cleanup
-        forcedTauntTasks.put(UUID.randomUUID(), task);
+        if (game.getSettings().getForcedTauntInterval() <= 0) return;
+        forcedTauntGames.add(game.getArena().getName());
     }
 
     /**
      * Stops forced taunting for a game.
      */
     public void stopForcedTaunts(Game game) {
-        // Cancel all tasks (simplified - in production, track per-game)
-        forcedTauntTasks.values().forEach(BukkitTask::cancel);
-        forcedTauntTasks.clear();
+        forcedTauntGames.remove(game.getArena().getName());
+    }
+
+    /**
+     * Forces a random prop to taunt every interval.
+     * Called once per second while the game is hunting.
+     */
+    public void tick(Game game) {
+        if (!forcedTauntGames.contains(game.getArena().getName())) return;
+
+        if (game.getState() != GameState.HUNTING) {
+            stopForcedTaunts(game);
+            return;
+        }
+
+        int interval = game.getSettings().getForcedTauntInterval();
+        int elapsed = game.getSettings().getSeekTime() - game.getTimeRemaining();
+        if (elapsed <= 0 || elapsed % interval != 0) return;
+
+        // Pick a random alive prop
+        Collection<PropPlayer> aliveProps = game.getTeamManager().getAliveProps();
+        if (aliveProps.isEmpty()) return;
+
+        int index = ThreadLocalRandom.current().nextInt(aliveProps.size());
+        PropPlayer prop = aliveProps.stream().skip(index).findFirst().orElseThrow();
+        forceTaunt(prop);
     }
 
     /**
@@ -132,8 +135,9 @@ public class TauntManager {
             return false;
         }
 
-        // Record taunt
+        // Record taunt (counted in the player's stats when the game ends)
         lastVoluntaryTaunt.put(player.getUniqueId(), System.currentTimeMillis());
+        prop.recordVoluntaryTaunt();
 
         // Play taunt effect
         playTauntEffect(player.getLocation());
@@ -141,9 +145,6 @@ public class TauntManager {
         // Award points for risky taunt
         prop.addPoints(15);
 
-        // Update stats
-        plugin.getStatsManager().getStats(player).incrementSuccessfulTaunts();
-
         plugin.getMessageUtil().send(player, "prop.taunt-success");
 
         // Message to hunters
@@ -186,8 +187,7 @@ public class TauntManager {
      * Shuts down the taunt manager.
      */
     public void shutdown() {
-        forcedTauntTasks.values().forEach(BukkitTask::cancel);
-        forcedTauntTasks.clear();
+        forcedTauntGames.clear();
         lastVoluntaryTaunt.clear();
     }
 }
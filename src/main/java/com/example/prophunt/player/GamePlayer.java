@@ -22,6 +22,7 @@ public class GamePlayer {
     // Stats for current game
     protected int points;
     protected long gameJoinTime;
+    private long eliminatedTime; // 0 while alive
 
     // Saved state to restore after game
     private Location previousLocation;
@@ -99,10 +100,11 @@ public class GamePlayer {
     }
 
     /**
-     * Makes the player a spectator.
+     * Makes the player a spectator, recording when they were eliminated.
      */
     public void setSpectator() {
         this.team = Team.SPECTATOR;
+        this.eliminatedTime = System.currentTimeMillis();
         player.setGameMode(GameMode.SPECTATOR);
     }
 
@@ -163,6 +165,10 @@ public class GamePlayer {
         return points;
     }
 
+    public long getEliminatedTime() {
+        return eliminatedTime;
+    }
+
     public boolean isOnline() {
         return player.isOnline();
     }
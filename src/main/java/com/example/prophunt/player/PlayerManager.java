@@ -8,6 +8,8 @@ import java.util.*;
 
 /**
  * Manages all players currently in PropHunt games.
+ * This is the authoritative player to game index; each tracked
+ * GamePlayer carries the game it belongs to.
  */
 public class PlayerManager {
 
@@ -21,6 +23,8 @@ public class PlayerManager {
 
     /**
      * Adds a player to tracking.
+     * Replaces any existing entry, so this is also used to swap in the
+     * prop/hunter wrapper once teams are assigned.
      *
      * @param gamePlayer the game player
      */
@@ -107,7 +111,17 @@ public class PlayerManager {
      * @return the game, or null
      */
     public Game getPlayerGame(Player player) {
-        GamePlayer gp = getPlayer(player);
+        return getPlayerGame(player.getUniqueId());
+    }
+
+    /**
+     * Gets the game a player is in.
+     *
+     * @param uuid the player's UUID
+     * @return the game, or null
+     */
+    public Game getPlayerGame(UUID uuid) {
+        GamePlayer gp = players.get(uuid);
         return gp != null ? gp.getGame() : null;
     }
 
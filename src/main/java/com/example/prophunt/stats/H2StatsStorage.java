@@ -0,0 +1,276 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+import com.example.prophunt.config.ConfigManager;
+
+import java.io.File;
+import java.sql.*;
+
+/**
+ * Stats backend using H2.
+ * By default the database is a local file opened in auto-server mode, so
+ * other processes (or a second server) can connect to it over TCP while the
+ * plugin runs; {@code storage.h2.url} can point at a standalone H2 server.
+ */
+public class H2StatsStorage extends JdbcStatsStorage {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS player_stats (
+                uuid VARCHAR(36) PRIMARY KEY,
+                last_known_name VARCHAR(64),
+                games_played INT DEFAULT 0,
+                games_won INT DEFAULT 0,
+                games_lost INT DEFAULT 0,
+                times_as_prop INT DEFAULT 0,
+                prop_survives INT DEFAULT 0,
+                prop_deaths INT DEFAULT 0,
+                total_time_hidden BIGINT DEFAULT 0,
+                successful_taunts INT DEFAULT 0,
+                times_as_hunter INT DEFAULT 0,
+                props_found INT DEFAULT 0,
+                props_killed INT DEFAULT 0,
+                wrong_hits INT DEFAULT 0,
+                hunter_deaths INT DEFAULT 0,
+                total_points BIGINT DEFAULT 0,
+                highest_game_points INT DEFAULT 0,
+                total_play_time BIGINT DEFAULT 0,
+                first_played BIGINT,
+                last_played BIGINT,
+                name_key VARCHAR(64) GENERATED ALWAYS AS (LOWER(last_known_name))
+            )
+            """;
+
+    // H2 has no INSERT ... ON CONFLICT; parameters are cast so their types are known
+    private static final String UPSERT = """
+            MERGE INTO player_stats t
+            USING (VALUES (
+                CAST(? AS VARCHAR(36)), CAST(? AS VARCHAR(64)), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT),
+                CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS BIGINT), CAST(? AS INT),
+                CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT),
+                CAST(? AS BIGINT), CAST(? AS INT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT)
+            )) AS s (
+                uuid, last_known_name, games_played, games_won, games_lost,
+                times_as_prop, prop_survives, prop_deaths, total_time_hidden, successful_taunts,
+                times_as_hunter, props_found, props_killed, wrong_hits, hunter_deaths,
+                total_points, highest_game_points, total_play_time, first_played, last_played
+            )
+            ON t.uuid = s.uuid
+            WHEN MATCHED THEN UPDATE SET
+                last_known_name = COALESCE(s.last_known_name, t.last_known_name),
+                games_played = t.games_played + s.games_played,
+                games_won = t.games_won + s.games_won,
+                games_lost = t.games_lost + s.games_lost,
+                times_as_prop = t.times_as_prop + s.times_as_prop,
+                prop_survives = t.prop_survives + s.prop_survives,
+                prop_deaths = t.prop_deaths + s.prop_deaths,
+                total_time_hidden = t.total_time_hidden + s.total_time_hidden,
+                successful_taunts = t.successful_taunts + s.successful_taunts,
+                times_as_hunter = t.times_as_hunter + s.times_as_hunter,
+                props_found = t.props_found + s.props_found,
+                props_killed = t.props_killed + s.props_killed,
+                wrong_hits = t.wrong_hits + s.wrong_hits,
+                hunter_deaths = t.hunter_deaths + s.hunter_deaths,
+                total_points = t.total_points + s.total_points,
+                highest_game_points = GREATEST(t.highest_game_points, s.highest_game_points),
+                total_play_time = t.total_play_time + s.total_play_time,
+                last_played = GREATEST(t.last_played, s.last_played)
+            WHEN NOT MATCHED THEN INSERT (
+                uuid, last_known_name, games_played, games_won, games_lost,
+                times_as_prop, prop_survives, prop_deaths, total_time_hidden, successful_taunts,
+                times_as_hunter, props_found, props_killed, wrong_hits, hunter_deaths,
+                total_points, highest_game_points, total_play_time, first_played, last_played
+            ) VALUES (
+                s.uuid, s.last_known_name, s.games_played, s.games_won, s.games_lost,
+                s.times_as_prop, s.prop_survives, s.prop_deaths, s.total_time_hidden, s.successful_taunts,
+                s.times_as_hunter, s.props_found, s.props_killed, s.wrong_hits, s.hunter_deaths,
+                s.total_points, s.highest_game_points, s.total_play_time, s.first_played, s.last_played
+            )
+            """;
+
+    private static final String WINDOW_UPSERT = """
+            MERGE INTO stats_window t
+            USING (VALUES (
+                CAST(? AS INT), CAST(? AS BIGINT), CAST(? AS VARCHAR(36)), CAST(? AS VARCHAR(64)),
+                CAST(? AS INT), CAST(? AS INT), CAST(? AS BIGINT), CAST(? AS INT),
+                CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS BIGINT)
+            )) AS s (
+                window_id, bucket, uuid, last_known_name,
+                games_played, games_won, total_points, props_killed,
+                props_found, prop_survives, highest_game_points, total_play_time
+            )
+            ON t.window_id = s.window_id AND t.bucket = s.bucket AND t.uuid = s.uuid
+            WHEN MATCHED THEN UPDATE SET
+                last_known_name = COALESCE(s.last_known_name, t.last_known_name),
+                games_played = t.games_played + s.games_played,
+                games_won = t.games_won + s.games_won,
+                total_points = t.total_points + s.total_points,
+                props_killed = t.props_killed + s.props_killed,
+                props_found = t.props_found + s.props_found,
+                prop_survives = t.prop_survives + s.prop_survives,
+                highest_game_points = GREATEST(t.highest_game_points, s.highest_game_points),
+                total_play_time = t.total_play_time + s.total_play_time
+            WHEN NOT MATCHED THEN INSERT (
+                window_id, bucket, uuid, last_known_name,
+                games_played, games_won, total_points, props_killed,
+                props_found, prop_survives, highest_game_points, total_play_time
+            ) VALUES (
+                s.window_id, s.bucket, s.uuid, s.last_known_name,
+                s.games_played, s.games_won, s.total_points, s.props_killed,
+                s.props_found, s.prop_survives, s.highest_game_points, s.total_play_time
+            )
+            """;
+
+    private static final String FIND_BY_NAME = """
+            SELECT * FROM player_stats
+            WHERE name_key = LOWER(?)
+            ORDER BY last_played DESC LIMIT 1
+            """;
+
+    private static final String CREATE_MATCH_TABLES = """
+            CREATE TABLE IF NOT EXISTS match_history (
+                id BIGINT PRIMARY KEY,
+                arena VARCHAR(64) NOT NULL,
+                started_at BIGINT NOT NULL,
+                duration INT NOT NULL,
+                winner VARCHAR(16),
+                players INT NOT NULL
+            );
+            CREATE INDEX IF NOT EXISTS idx_match_history_arena ON match_history (arena, started_at);
+            CREATE INDEX IF NOT EXISTS idx_match_history_started ON match_history (started_at);
+            CREATE TABLE IF NOT EXISTS match_players (
+                match_id BIGINT NOT NULL,
+                uuid VARCHAR(36) NOT NULL,
+                team VARCHAR(16) NOT NULL,
+                points INT NOT NULL,
+                hits INT NOT NULL,
+                survival INT NOT NULL,
+                PRIMARY KEY (match_id, uuid)
+            );
+            CREATE TABLE IF NOT EXISTS match_daily (
+                arena VARCHAR(64) NOT NULL,
+                match_day BIGINT NOT NULL,
+                matches INT NOT NULL,
+                prop_wins INT NOT NULL,
+                hunter_wins INT NOT NULL,
+                total_duration BIGINT NOT NULL,
+                total_players BIGINT NOT NULL,
+                PRIMARY KEY (arena, match_day)
+            )
+            """;
+
+    // Per-bucket totals for daily, weekly and season leaderboards
+    private static final String CREATE_WINDOW_TABLE = """
+            CREATE TABLE IF NOT EXISTS stats_window (
+                window_id INT NOT NULL,
+                bucket BIGINT NOT NULL,
+                uuid VARCHAR(36) NOT NULL,
+                last_known_name VARCHAR(64),
+                games_played INT NOT NULL DEFAULT 0,
+                games_won INT NOT NULL DEFAULT 0,
+                total_points BIGINT NOT NULL DEFAULT 0,
+                props_killed INT NOT NULL DEFAULT 0,
+                props_found INT NOT NULL DEFAULT 0,
+                prop_survives INT NOT NULL DEFAULT 0,
+                highest_game_points INT NOT NULL DEFAULT 0,
+                total_play_time BIGINT NOT NULL DEFAULT 0,
+                PRIMARY KEY (window_id, bucket, uuid)
+            )
+            """;
+
+    // match_day is days since the epoch, UTC
+    private static final String ROLL_UP = """
+            MERGE INTO match_daily d
+            USING (
+                SELECT arena, started_at / 86400000 AS match_day, COUNT(*) AS matches,
+                       SUM(CASE WHEN winner = 'PROPS' THEN 1 ELSE 0 END) AS prop_wins,
+                       SUM(CASE WHEN winner = 'HUNTERS' THEN 1 ELSE 0 END) AS hunter_wins,
+                       SUM(duration) AS total_duration, SUM(players) AS total_players
+                FROM match_history WHERE started_at < ?
+                GROUP BY arena, started_at / 86400000
+            ) s
+            ON d.arena = s.arena AND d.match_day = s.match_day
+            WHEN MATCHED THEN UPDATE SET
+                matches = d.matches + s.matches,
+                prop_wins = d.prop_wins + s.prop_wins,
+                hunter_wins = d.hunter_wins + s.hunter_wins,
+                total_duration = d.total_duration + s.total_duration,
+                total_players = d.total_players + s.total_players
+            WHEN NOT MATCHED THEN INSERT (arena, match_day, matches, prop_wins, hunter_wins, total_duration, total_players)
+                VALUES (s.arena, s.match_day, s.matches, s.prop_wins, s.hunter_wins, s.total_duration, s.total_players)
+            """;
+
+    private final String url;
+    private final String username;
+    private final String password;
+
+    public H2StatsStorage(PropHuntPlugin plugin) {
+        super(plugin);
+        ConfigManager config = plugin.getConfigManager();
+        String localUrl = "jdbc:h2:" + new File(plugin.getDataFolder(), "stats-h2").getAbsolutePath()
+                + ";AUTO_SERVER=TRUE";
+        String configured = config.getString("storage.h2.url", "");
+        this.url = configured.isEmpty() ? localUrl : configured;
+        this.username = config.getString("storage.h2.username", "sa");
+        this.password = config.getString("storage.h2.password", "");
+    }
+
+    @Override
+    public String getName() {
+        return "H2";
+    }
+
+    @Override
+    protected Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    @Override
+    protected Connection connectForScan() throws SQLException {
+        Connection connection = connect();
+        // Otherwise H2 materializes the whole result before returning the first row
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("SET LAZY_QUERY_EXECUTION TRUE");
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    @Override
+    protected void createSchema(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(CREATE_TABLE);
+            for (StatsManager.StatType type : StatsManager.StatType.values()) {
+                String column = type.getColumn();
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_player_stats_" + column
+                        + " ON player_stats (" + column + " DESC)");
+            }
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_player_stats_name ON player_stats (name_key)");
+            for (String sql : CREATE_MATCH_TABLES.split(";")) {
+                stmt.execute(sql);
+            }
+            stmt.execute(CREATE_WINDOW_TABLE);
+        }
+    }
+
+    @Override
+    protected String getUpsertSql() {
+        return UPSERT;
+    }
+
+    @Override
+    protected String getWindowUpsertSql() {
+        return WINDOW_UPSERT;
+    }
+
+    @Override
+    protected String getFindByNameSql() {
+        return FIND_BY_NAME;
+    }
+
+    @Override
+    protected String getRollUpSql() {
+        return ROLL_UP;
+    }
+}
@@ -0,0 +1,512 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+import com.example.prophunt.config.ConfigManager;
+
+import java.sql.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Base for SQL stats backends.
+ * Holds one connection for the loader thread and one for the writer thread,
+ * and opens another for each full scan; subclasses supply the connections, schema and dialect-specific SQL.
+ */
+public abstract class JdbcStatsStorage implements StatsStorage {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private static final String INSERT_MATCH = """
+            INSERT INTO match_history (id, arena, started_at, duration, winner, players)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_MATCH_PLAYER = """
+            INSERT INTO match_players (match_id, uuid, team, points, hits, survival)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String ARENA_SUMMARY = """
+            SELECT SUM(matches), SUM(prop_wins), SUM(hunter_wins), SUM(total_duration), SUM(total_players)
+            FROM (
+                SELECT matches, prop_wins, hunter_wins, total_duration, total_players
+                FROM match_daily WHERE arena = ? AND match_day >= ?
+                UNION ALL
+                SELECT 1,
+                       CASE WHEN winner = 'PROPS' THEN 1 ELSE 0 END,
+                       CASE WHEN winner = 'HUNTERS' THEN 1 ELSE 0 END,
+                       duration, players
+                FROM match_history WHERE arena = ? AND started_at >= ?
+            ) t
+            """;
+
+    protected final PropHuntPlugin plugin;
+    private Connection readConnection;
+    private Connection writeConnection;
+    private PreparedStatement upsert;
+    private PreparedStatement windowUpsert;
+    private PreparedStatement insertMatch;
+    private PreparedStatement insertMatchPlayer;
+
+    protected JdbcStatsStorage(PropHuntPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Opens and tunes a new connection.
+     */
+    protected abstract Connection connect() throws SQLException;
+
+    /**
+     * Opens a connection for {@link #streamAll(Consumer)}, which keeps a
+     * cursor open for as long as its consumer takes.
+     */
+    protected Connection connectForScan() throws SQLException {
+        return connect();
+    }
+
+    /**
+     * Creates or upgrades the schema.
+     */
+    protected abstract void createSchema(Connection connection) throws SQLException;
+
+    /**
+     * Gets the increment upsert. Parameters are bound by
+     * {@link #bindUpsert(PreparedStatement, StatsDelta)}.
+     */
+    protected abstract String getUpsertSql();
+
+    /**
+     * Gets the increment upsert into {@code stats_window}. Parameters are bound by
+     * {@link #bindWindowUpsert(PreparedStatement, StatsWindow, long, StatsDelta)}.
+     */
+    protected abstract String getWindowUpsertSql();
+
+    /**
+     * Gets the case-insensitive name lookup, with the name as its only parameter.
+     */
+    protected abstract String getFindByNameSql();
+
+    /**
+     * Gets the statement adding {@code match_history} rows started before
+     * the cutoff parameter to their {@code match_daily} totals.
+     */
+    protected abstract String getRollUpSql();
+
+    @Override
+    public void open() throws StatsStorageException {
+        try {
+            readConnection = connect();
+            createSchema(readConnection);
+
+            writeConnection = connect();
+            writeConnection.setAutoCommit(false);
+            upsert = writeConnection.prepareStatement(getUpsertSql());
+            windowUpsert = writeConnection.prepareStatement(getWindowUpsertSql());
+            insertMatch = writeConnection.prepareStatement(INSERT_MATCH);
+            insertMatchPlayer = writeConnection.prepareStatement(INSERT_MATCH_PLAYER);
+        } catch (SQLException e) {
+            close();
+            throw new StatsStorageException("Failed to open " + getName() + " stats storage", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (upsert != null) upsert.close();
+            if (windowUpsert != null) windowUpsert.close();
+            if (insertMatch != null) insertMatch.close();
+            if (insertMatchPlayer != null) insertMatchPlayer.close();
+            if (writeConnection != null) writeConnection.close();
+            if (readConnection != null) readConnection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Error closing " + getName() + " stats storage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes only the read connection. The write connection is left to the
+     * writer's transaction, which commits or rolls back as a whole.
+     */
+    @Override
+    public void closeEarly() {
+        try {
+            if (readConnection != null) readConnection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Error closing " + getName() + " stats storage: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public PlayerStats load(UUID uuid) throws StatsStorageException {
+        String sql = "SELECT * FROM player_stats WHERE uuid = ?";
+
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
+            stmt.setString(1, uuid.toString());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? readStats(uuid, rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new StatsStorageException("Error loading stats for " + uuid, e);
+        }
+    }
+
+    @Override
+    public PlayerStats findByName(String name) throws StatsStorageException {
+        try (PreparedStatement stmt = readConnection.prepareStatement(getFindByNameSql())) {
+            stmt.setString(1, name);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? readStats(UUID.fromString(rs.getString("uuid")), rs) : null;
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            throw new StatsStorageException("Error looking up stats for " + name, e);
+        }
+    }
+
+    @Override
+    public void upsert(Collection<StatsDelta> batch) throws StatsStorageException {
+        ConfigManager config = plugin.getConfigManager();
+        try {
+            boolean windowed = false;
+            for (StatsDelta delta : batch) {
+                bindUpsert(upsert, delta);
+                upsert.addBatch();
+
+                if (!changesLeaderboards(delta)) continue;
+                for (StatsWindow window : StatsWindow.values()) {
+                    if (!window.isWindowed()) continue;
+                    bindWindowUpsert(windowUpsert, window, window.getBucket(delta.getPlayedAt(), config), delta);
+                    windowUpsert.addBatch();
+                    windowed = true;
+                }
+            }
+            upsert.executeBatch();
+            if (windowed) {
+                windowUpsert.executeBatch();
+            }
+            writeConnection.commit();
+        } catch (SQLException e) {
+            try {
+                upsert.clearBatch();
+                windowUpsert.clearBatch();
+                writeConnection.rollback();
+            } catch (SQLException ignored) {
+                // Connection is unusable; the next batch will report it
+            }
+            throw new StatsStorageException("Error writing stats batch of " + batch.size(), e);
+        }
+    }
+
+    /**
+     * Binds a delta to the upsert statement.
+     * For a new player the increments become the initial values.
+     */
+    protected void bindUpsert(PreparedStatement stmt, StatsDelta delta) throws SQLException {
+        stmt.setString(1, delta.getUuid().toString());
+        stmt.setString(2, delta.getName());
+        stmt.setInt(3, delta.getGamesPlayed());
+        stmt.setInt(4, delta.getGamesWon());
+        stmt.setInt(5, delta.getGamesLost());
+        stmt.setInt(6, delta.getTimesAsProp());
+        stmt.setInt(7, delta.getPropSurvives());
+        stmt.setInt(8, delta.getPropDeaths());
+        stmt.setLong(9, delta.getTimeHidden());
+        stmt.setInt(10, delta.getSuccessfulTaunts());
+        stmt.setInt(11, delta.getTimesAsHunter());
+        stmt.setInt(12, delta.getPropsFound());
+        stmt.setInt(13, delta.getPropsKilled());
+        stmt.setInt(14, delta.getWrongHits());
+        stmt.setInt(15, delta.getHunterDeaths());
+        stmt.setLong(16, delta.getPoints());
+        stmt.setInt(17, delta.getHighestGamePoints());
+        stmt.setLong(18, delta.getPlayTime());
+        stmt.setLong(19, delta.getPlayedAt());
+        stmt.setLong(20, delta.getPlayedAt());
+    }
+
+    /**
+     * Binds a delta to the window upsert statement: window id, bucket, UUID,
+     * name, then the change to each stat in {@link StatsManager.StatType} order.
+     */
+    protected void bindWindowUpsert(PreparedStatement stmt, StatsWindow window, long bucket, StatsDelta delta)
+            throws SQLException {
+        stmt.setInt(1, window.getId());
+        stmt.setLong(2, bucket);
+        stmt.setString(3, delta.getUuid().toString());
+        stmt.setString(4, delta.getName());
+        int index = 5;
+        for (StatsManager.StatType type : StatsManager.StatType.values()) {
+            stmt.setLong(index++, type.getIncrement(delta));
+        }
+    }
+
+    /**
+     * Checks if a delta changes any leaderboard stat.
+     */
+    private static boolean changesLeaderboards(StatsDelta delta) {
+        for (StatsManager.StatType type : StatsManager.StatType.values()) {
+            if (type.getIncrement(delta) != 0) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasWindows() {
+        return true;
+    }
+
+    @Override
+    public void streamWindow(StatsWindow window, long bucket, Consumer<PlayerStats> consumer)
+            throws StatsStorageException {
+        String sql = "SELECT * FROM stats_window WHERE window_id = ? AND bucket = ?";
+
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
+            stmt.setFetchSize(1000);
+            stmt.setInt(1, window.getId());
+            stmt.setLong(2, bucket);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    UUID uuid;
+                    try {
+                        uuid = UUID.fromString(rs.getString("uuid"));
+                    } catch (IllegalArgumentException e) {
+                        continue; // Skip malformed rows
+                    }
+                    consumer.accept(readWindowStats(uuid, rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new StatsStorageException("Error reading " + window.name().toLowerCase() + " stats", e);
+        }
+    }
+
+    @Override
+    public List<PlayerStats> getWindowTop(StatsManager.StatType statType, StatsWindow window, long bucket,
+                                          int limit) throws StatsStorageException {
+        String sql = "SELECT * FROM stats_window WHERE window_id = ? AND bucket = ? ORDER BY "
+                + statType.getColumn() + " DESC LIMIT ?";
+        List<PlayerStats> results = new ArrayList<>();
+
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
+            stmt.setInt(1, window.getId());
+            stmt.setLong(2, bucket);
+            stmt.setInt(3, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(readWindowStats(UUID.fromString(rs.getString("uuid")), rs));
+                }
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            throw new StatsStorageException("Error getting top " + window.name().toLowerCase() + " players", e);
+        }
+
+        return results;
+    }
+
+    @Override
+    public int expireWindows(StatsWindow window, long before) throws StatsStorageException {
+        try (PreparedStatement stmt = writeConnection.prepareStatement(
+                "DELETE FROM stats_window WHERE window_id = ? AND bucket < ?")) {
+            stmt.setInt(1, window.getId());
+            stmt.setLong(2, before);
+            int deleted = stmt.executeUpdate();
+            writeConnection.commit();
+            return deleted;
+        } catch (SQLException e) {
+            try {
+                writeConnection.rollback();
+            } catch (SQLException ignored) {
+                // Connection is unusable; the next batch will report it
+            }
+            throw new StatsStorageException("Error expiring " + window.name().toLowerCase() + " stats", e);
+        }
+    }
+
+    @Override
+    public void insertMatches(Collection<MatchRecord> matches) throws StatsStorageException {
+        try {
+            for (MatchRecord match : matches) {
+                insertMatch.setLong(1, match.getId());
+                insertMatch.setString(2, match.getArena());
+                insertMatch.setLong(3, match.getStartedAt());
+                insertMatch.setInt(4, match.getDuration());
+                insertMatch.setString(5, match.getWinner());
+                insertMatch.setInt(6, match.getParticipants().size());
+                insertMatch.addBatch();
+
+                for (MatchRecord.Participant participant : match.getParticipants()) {
+                    insertMatchPlayer.setLong(1, match.getId());
+                    insertMatchPlayer.setString(2, participant.getUuid().toString());
+                    insertMatchPlayer.setString(3, participant.getTeam());
+                    insertMatchPlayer.setInt(4, participant.getPoints());
+                    insertMatchPlayer.setInt(5, participant.getHits());
+                    insertMatchPlayer.setInt(6, participant.getSurvival());
+                    insertMatchPlayer.addBatch();
+                }
+            }
+            insertMatch.executeBatch();
+            insertMatchPlayer.executeBatch();
+            writeConnection.commit();
+        } catch (SQLException e) {
+            try {
+                insertMatch.clearBatch();
+                insertMatchPlayer.clearBatch();
+                writeConnection.rollback();
+            } catch (SQLException ignored) {
+                // Connection is unusable; the next batch will report it
+            }
+            throw new StatsStorageException("Error writing " + matches.size() + " matches", e);
+        }
+    }
+
+    @Override
+    public int rollUpMatches(long before) throws StatsStorageException {
+        try (PreparedStatement rollUp = writeConnection.prepareStatement(getRollUpSql());
+             PreparedStatement deletePlayers = writeConnection.prepareStatement(
+                     "DELETE FROM match_players WHERE match_id IN (SELECT id FROM match_history WHERE started_at < ?)");
+             PreparedStatement deleteMatches = writeConnection.prepareStatement(
+                     "DELETE FROM match_history WHERE started_at < ?")) {
+            rollUp.setLong(1, before);
+            rollUp.executeUpdate();
+            deletePlayers.setLong(1, before);
+            deletePlayers.executeUpdate();
+            deleteMatches.setLong(1, before);
+            int rolledUp = deleteMatches.executeUpdate();
+            writeConnection.commit();
+            return rolledUp;
+        } catch (SQLException e) {
+            try {
+                writeConnection.rollback();
+            } catch (SQLException ignored) {
+                // Connection is unusable; the next batch will report it
+            }
+            throw new StatsStorageException("Error rolling up match history", e);
+        }
+    }
+
+    @Override
+    public MatchRecord.Summary getArenaSummary(String arena, long since) throws StatsStorageException {
+        try (PreparedStatement stmt = readConnection.prepareStatement(ARENA_SUMMARY)) {
+            stmt.setString(1, arena);
+            stmt.setLong(2, since / DAY_MILLIS);
+            stmt.setString(3, arena);
+            stmt.setLong(4, since);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) return new MatchRecord.Summary(0, 0, 0, 0, 0);
+                return new MatchRecord.Summary(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getLong(4), rs.getLong(5));
+            }
+        } catch (SQLException e) {
+            throw new StatsStorageException("Error getting match history for " + arena, e);
+        }
+    }
+
+    @Override
+    public List<PlayerStats> getTop(StatsManager.StatType statType, int limit) throws StatsStorageException {
+        String sql = "SELECT * FROM player_stats ORDER BY " + statType.getColumn() + " DESC LIMIT ?";
+        List<PlayerStats> results = new ArrayList<>();
+
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
+            stmt.setInt(1, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(readStats(UUID.fromString(rs.getString("uuid")), rs));
+                }
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            throw new StatsStorageException("Error getting top players", e);
+        }
+
+        return results;
+    }
+
+    @Override
+    public int getRank(UUID uuid, StatsManager.StatType statType) throws StatsStorageException {
+        String column = statType.getColumn();
+        String sql = """
+                SELECT COUNT(*) + 1 AS player_rank FROM player_stats
+                WHERE %s > (SELECT %s FROM player_stats WHERE uuid = ?)
+                """.formatted(column, column);
+
+        try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
+            stmt.setString(1, uuid.toString());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt("player_rank") : -1;
+            }
+        } catch (SQLException e) {
+            throw new StatsStorageException("Error getting player rank", e);
+        }
+    }
+
+    @Override
+    public void streamAll(Consumer<PlayerStats> consumer) throws StatsStorageException {
+        // A connection of its own, so a long scan never holds up the loader
+        try (Connection connection = connectForScan();
+             Statement stmt = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(1000);
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM player_stats")) {
+                while (rs.next()) {
+                    UUID uuid;
+                    try {
+                        uuid = UUID.fromString(rs.getString("uuid"));
+                    } catch (IllegalArgumentException e) {
+                        continue; // Skip malformed rows
+                    }
+                    consumer.accept(readStats(uuid, rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new StatsStorageException("Error reading all stats", e);
+        }
+    }
+
+    /**
+     * Reads windowed stats from the current row.
+     */
+    private static PlayerStats readWindowStats(UUID uuid, ResultSet rs) throws SQLException {
+        PlayerStats stats = new PlayerStats(uuid, rs.getString("last_known_name"));
+        stats.setGamesPlayed(rs.getInt("games_played"));
+        stats.setGamesWon(rs.getInt("games_won"));
+        stats.setTotalPoints(rs.getLong("total_points"));
+        stats.setPropsKilled(rs.getInt("props_killed"));
+        stats.setPropsFound(rs.getInt("props_found"));
+        stats.setPropSurvives(rs.getInt("prop_survives"));
+        stats.setHighestGamePoints(rs.getInt("highest_game_points"));
+        stats.setTotalPlayTime(rs.getLong("total_play_time"));
+        return stats;
+    }
+
+    /**
+     * Reads stats from the current row.
+     */
+    private static PlayerStats readStats(UUID uuid, ResultSet rs) throws SQLException {
+        PlayerStats stats = new PlayerStats(uuid);
+        stats.setLastKnownName(rs.getString("last_known_name"));
+        stats.setGamesPlayed(rs.getInt("games_played"));
+        stats.setGamesWon(rs.getInt("games_won"));
+        stats.setGamesLost(rs.getInt("games_lost"));
+        stats.setTimesAsProp(rs.getInt("times_as_prop"));
+        stats.setPropSurvives(rs.getInt("prop_survives"));
+        stats.setPropDeaths(rs.getInt("prop_deaths"));
+        stats.setTotalTimeAsHiddenProp(rs.getLong("total_time_hidden"));
+        stats.setSuccessfulTaunts(rs.getInt("successful_taunts"));
+        stats.setTimesAsHunter(rs.getInt("times_as_hunter"));
+        stats.setPropsFound(rs.getInt("props_found"));
+        stats.setPropsKilled(rs.getInt("props_killed"));
+        stats.setWrongHits(rs.getInt("wrong_hits"));
+        stats.setHunterDeaths(rs.getInt("hunter_deaths"));
+        stats.setTotalPoints(rs.getLong("total_points"));
+        stats.setHighestGamePoints(rs.getInt("highest_game_points"));
+        stats.setTotalPlayTime(rs.getLong("total_play_time"));
+        stats.setFirstPlayed(rs.getLong("first_played"));
+        stats.setLastPlayed(rs.getLong("last_played"));
+        return stats;
+    }
+}
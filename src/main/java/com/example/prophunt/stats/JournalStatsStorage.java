@@ -0,0 +1,489 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Stats backend using an append-only binary journal, {@code stats.journal}.
+ * Needs no database driver. All stats are held in memory; each write batch
+ * is appended as one checksummed record and synced before it is applied.
+ * On startup the journal is replayed, and a torn or corrupt tail left by a
+ * crash is cut off. Once enough has been appended the journal is compacted
+ * into a snapshot, written beside it and swapped in atomically.
+ */
+public class JournalStatsStorage implements StatsStorage {
+
+    private static final int MAGIC = 0x50485354; // "PHST"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 9; // type, length, crc
+
+    private static final byte RECORD_DELTAS = 1;
+    private static final byte RECORD_SNAPSHOT = 2;
+    private static final int SNAPSHOT_CHUNK = 4096; // Players per snapshot record
+    private static final int SCAN_CHUNK = 1024; // Players copied per lock in streamAll
+
+    private final PropHuntPlugin plugin;
+    private final Path path;
+    private final long compactThreshold;
+
+    // Only the writer thread mutates rows; reads from other threads lock it
+    private final Map<UUID, PlayerStats> rows;
+    private volatile FileChannel channel;
+    private long position;
+    private long snapshotBytes;
+    private long appendedBytes;
+
+    public JournalStatsStorage(PropHuntPlugin plugin) {
+        this.plugin = plugin;
+        this.path = new File(plugin.getDataFolder(), "stats.journal").toPath();
+        this.compactThreshold = plugin.getConfigManager().getInt("storage.journal.compact-threshold", 16) * 1024L * 1024L;
+        this.rows = new HashMap<>();
+    }
+
+    @Override
+    public String getName() {
+        return "Journal";
+    }
+
+    @Override
+    public void open() throws StatsStorageException {
+        try {
+            long size = Files.exists(path) ? Files.size(path) : 0;
+            if (size < HEADER_SIZE) {
+                writeEmpty(path); // New, or crashed before the header was written
+                size = HEADER_SIZE;
+            }
+
+            long start = System.currentTimeMillis();
+            long good = replay(size);
+            channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            if (good < size) {
+                plugin.getLogger().warning("Discarding " + (size - good)
+                        + " bytes of incomplete or corrupt data at the end of " + path.getFileName());
+                channel.truncate(good);
+                channel.force(true);
+            }
+
+            position = good;
+            snapshotBytes = good;
+            appendedBytes = 0;
+            plugin.debug("Replayed stats journal: %d players from %d bytes in %dms",
+                    rows.size(), good, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            close();
+            throw new StatsStorageException("Failed to open stats journal " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (channel == null) return;
+        if (appendedBytes > 0) {
+            compact(); // Keep the next startup's replay short
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Error closing stats journal: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    /**
+     * Closes the journal without compacting it. A record the writer is
+     * still appending fails and is cut off on the next replay.
+     */
+    @Override
+    public void closeEarly() {
+        FileChannel open = channel;
+        if (open == null) return;
+        try {
+            open.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Error closing stats journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replays the journal into memory.
+     *
+     * @return length of the valid prefix
+     */
+    private long replay(long size) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a PropHunt stats journal");
+            }
+
+            long good = HEADER_SIZE;
+            while (good + RECORD_HEADER_SIZE <= size) {
+                byte type = in.readByte();
+                int length = in.readInt();
+                int crc = in.readInt();
+                if (length < 0 || good + RECORD_HEADER_SIZE + length > size) break;
+
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (checksum(payload) != crc || !applyRecord(type, payload)) break;
+
+                good += RECORD_HEADER_SIZE + length;
+            }
+            return good;
+        }
+    }
+
+    /**
+     * Applies a replayed record.
+     *
+     * @return false if the record is not understood
+     */
+    private boolean applyRecord(byte type, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int count = in.readInt();
+
+        switch (type) {
+            case RECORD_DELTAS -> {
+                for (int i = 0; i < count; i++) {
+                    applyDelta(StatsDelta.readFrom(in));
+                }
+            }
+            case RECORD_SNAPSHOT -> {
+                for (int i = 0; i < count; i++) {
+                    PlayerStats stats = readStats(in);
+                    rows.put(stats.getUuid(), stats);
+                }
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a delta to the in-memory stats.
+     */
+    private void applyDelta(StatsDelta delta) {
+        PlayerStats row = rows.get(delta.getUuid());
+        if (row == null) {
+            row = new PlayerStats(delta.getUuid(), delta.getName());
+            row.setFirstPlayed(delta.getPlayedAt());
+            row.setLastPlayed(delta.getPlayedAt());
+            rows.put(delta.getUuid(), row);
+        }
+        row.apply(delta);
+    }
+
+    @Override
+    public void upsert(Collection<StatsDelta> batch) throws StatsStorageException {
+        long length;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(96 * batch.size() + 4);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(batch.size());
+            for (StatsDelta delta : batch) {
+                delta.writeTo(out);
+            }
+            length = append(RECORD_DELTAS, bytes.toByteArray());
+        } catch (IOException e) {
+            throw new StatsStorageException("Error appending to stats journal", e);
+        }
+
+        synchronized (rows) {
+            for (StatsDelta delta : batch) {
+                applyDelta(delta);
+            }
+        }
+
+        appendedBytes += length;
+        if (appendedBytes >= Math.max(compactThreshold, snapshotBytes)) {
+            compact();
+        }
+    }
+
+    /**
+     * Appends a record and syncs it to disk.
+     * A failed append is cut off so later records stay readable.
+     *
+     * @return bytes appended
+     */
+    private long append(byte type, byte[] payload) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        buffer.put(type).putInt(payload.length).putInt(checksum(payload)).put(payload).flip();
+
+        try {
+            long at = position;
+            while (buffer.hasRemaining()) {
+                at += channel.write(buffer, at);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(position);
+            } catch (IOException ignored) {
+                // Replay will stop at the torn record instead
+            }
+            throw e;
+        }
+
+        position += buffer.limit();
+        return buffer.limit();
+    }
+
+    /**
+     * Rewrites the journal as a snapshot of the current stats.
+     * Runs on the writer thread, or on close once the writer has stopped;
+     * nothing else changes rows, so they are read here without locking.
+     */
+    private void compact() {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        long start = System.currentTimeMillis();
+
+        try {
+            try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+
+                ByteArrayOutputStream chunk = new ByteArrayOutputStream(SNAPSHOT_CHUNK * 96);
+                DataOutputStream chunkOut = new DataOutputStream(chunk);
+                Iterator<PlayerStats> iterator = rows.values().iterator();
+                while (iterator.hasNext()) {
+                    chunk.reset();
+                    int count = 0;
+                    chunkOut.writeInt(0); // Count, patched below
+                    while (iterator.hasNext() && count < SNAPSHOT_CHUNK) {
+                        writeStats(chunkOut, iterator.next());
+                        count++;
+                    }
+                    byte[] payload = chunk.toByteArray();
+                    ByteBuffer.wrap(payload).putInt(0, count);
+
+                    out.writeByte(RECORD_SNAPSHOT);
+                    out.writeInt(payload.length);
+                    out.writeInt(checksum(payload));
+                    out.write(payload);
+                }
+                out.flush();
+                file.getChannel().force(true);
+            }
+
+            channel.close();
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            }
+
+            position = channel.size();
+            snapshotBytes = position;
+            appendedBytes = 0;
+            plugin.debug("Compacted stats journal to %d players, %d bytes in %dms",
+                    rows.size(), position, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Error compacting stats journal: " + e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Overwritten by the next compaction
+            }
+        }
+    }
+
+    @Override
+    public PlayerStats load(UUID uuid) {
+        synchronized (rows) {
+            PlayerStats row = rows.get(uuid);
+            return row != null ? copy(row) : null;
+        }
+    }
+
+    @Override
+    public PlayerStats findByName(String name) {
+        synchronized (rows) {
+            PlayerStats match = null;
+            for (PlayerStats row : rows.values()) {
+                if (name.equalsIgnoreCase(row.getLastKnownName())
+                        && (match == null || row.getLastPlayed() > match.getLastPlayed())) {
+                    match = row;
+                }
+            }
+            return match != null ? copy(match) : null;
+        }
+    }
+
+    @Override
+    public List<PlayerStats> getTop(StatsManager.StatType statType, int limit) {
+        Comparator<PlayerStats> order = Comparator.comparingLong(statType::getValue);
+        PriorityQueue<PlayerStats> top = new PriorityQueue<>(limit + 1, order); // Lowest first
+
+        synchronized (rows) {
+            for (PlayerStats row : rows.values()) {
+                if (top.size() < limit) {
+                    top.offer(row);
+                } else if (limit > 0 && statType.getValue(row) > statType.getValue(top.peek())) {
+                    top.poll();
+                    top.offer(row);
+                }
+            }
+
+            List<PlayerStats> result = new ArrayList<>(top.size());
+            for (PlayerStats row : top) {
+                result.add(copy(row));
+            }
+            result.sort(order.reversed());
+            return result;
+        }
+    }
+
+    @Override
+    public int getRank(UUID uuid, StatsManager.StatType statType) {
+        synchronized (rows) {
+            PlayerStats row = rows.get(uuid);
+            if (row == null) return -1;
+
+            long value = statType.getValue(row);
+            int rank = 1;
+            for (PlayerStats other : rows.values()) {
+                if (statType.getValue(other) > value) {
+                    rank++;
+                }
+            }
+            return rank;
+        }
+    }
+
+    @Override
+    public void streamAll(Consumer<PlayerStats> consumer) {
+        // Copy a chunk at a time, so writes are not locked out while the consumer runs
+        List<UUID> keys;
+        synchronized (rows) {
+            keys = new ArrayList<>(rows.keySet());
+        }
+
+        List<PlayerStats> chunk = new ArrayList<>(SCAN_CHUNK);
+        for (int from = 0; from < keys.size(); from += SCAN_CHUNK) {
+            int to = Math.min(from + SCAN_CHUNK, keys.size());
+            synchronized (rows) {
+                for (UUID uuid : keys.subList(from, to)) {
+                    PlayerStats row = rows.get(uuid);
+                    if (row != null) {
+                        chunk.add(copy(row));
+                    }
+                }
+            }
+            chunk.forEach(consumer);
+            chunk.clear();
+        }
+    }
+
+    /**
+     * Writes an empty journal.
+     */
+    private static void writeEmpty(Path target) throws IOException {
+        try (FileOutputStream file = new FileOutputStream(target.toFile());
+             DataOutputStream out = new DataOutputStream(file)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.flush();
+            file.getChannel().force(true);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Writes a player's full stats for a snapshot.
+     */
+    private static void writeStats(DataOutput out, PlayerStats stats) throws IOException {
+        out.writeLong(stats.getUuid().getMostSignificantBits());
+        out.writeLong(stats.getUuid().getLeastSignificantBits());
+        out.writeBoolean(stats.getLastKnownName() != null);
+        if (stats.getLastKnownName() != null) {
+            out.writeUTF(stats.getLastKnownName());
+        }
+        out.writeInt(stats.getGamesPlayed());
+        out.writeInt(stats.getGamesWon());
+        out.writeInt(stats.getGamesLost());
+        out.writeInt(stats.getTimesAsProp());
+        out.writeInt(stats.getPropSurvives());
+        out.writeInt(stats.getPropDeaths());
+        out.writeLong(stats.getTotalTimeAsHiddenProp());
+        out.writeInt(stats.getSuccessfulTaunts());
+        out.writeInt(stats.getTimesAsHunter());
+        out.writeInt(stats.getPropsFound());
+        out.writeInt(stats.getPropsKilled());
+        out.writeInt(stats.getWrongHits());
+        out.writeInt(stats.getHunterDeaths());
+        out.writeLong(stats.getTotalPoints());
+        out.writeInt(stats.getHighestGamePoints());
+        out.writeLong(stats.getTotalPlayTime());
+        out.writeLong(stats.getFirstPlayed());
+        out.writeLong(stats.getLastPlayed());
+    }
+
+    /**
+     * Reads a player's stats written by {@link #writeStats(DataOutput, PlayerStats)}.
+     */
+    private static PlayerStats readStats(DataInput in) throws IOException {
+        UUID uuid = new UUID(in.readLong(), in.readLong());
+        PlayerStats stats = new PlayerStats(uuid, in.readBoolean() ? in.readUTF() : null);
+        stats.setGamesPlayed(in.readInt());
+        stats.setGamesWon(in.readInt());
+        stats.setGamesLost(in.readInt());
+        stats.setTimesAsProp(in.readInt());
+        stats.setPropSurvives(in.readInt());
+        stats.setPropDeaths(in.readInt());
+        stats.setTotalTimeAsHiddenProp(in.readLong());
+        stats.setSuccessfulTaunts(in.readInt());
+        stats.setTimesAsHunter(in.readInt());
+        stats.setPropsFound(in.readInt());
+        stats.setPropsKilled(in.readInt());
+        stats.setWrongHits(in.readInt());
+        stats.setHunterDeaths(in.readInt());
+        stats.setTotalPoints(in.readLong());
+        stats.setHighestGamePoints(in.readInt());
+        stats.setTotalPlayTime(in.readLong());
+        stats.setFirstPlayed(in.readLong());
+        stats.setLastPlayed(in.readLong());
+        return stats;
+    }
+
+    /**
+     * Copies stats so callers never share the journal's instances.
+     */
+    private static PlayerStats copy(PlayerStats row) {
+        PlayerStats stats = new PlayerStats(row.getUuid(), row.getLastKnownName());
+        stats.setGamesPlayed(row.getGamesPlayed());
+        stats.setGamesWon(row.getGamesWon());
+        stats.setGamesLost(row.getGamesLost());
+        stats.setTimesAsProp(row.getTimesAsProp());
+        stats.setPropSurvives(row.getPropSurvives());
+        stats.setPropDeaths(row.getPropDeaths());
+        stats.setTotalTimeAsHiddenProp(row.getTotalTimeAsHiddenProp());
+        stats.setSuccessfulTaunts(row.getSuccessfulTaunts());
+        stats.setTimesAsHunter(row.getTimesAsHunter());
+        stats.setPropsFound(row.getPropsFound());
+        stats.setPropsKilled(row.getPropsKilled());
+        stats.setWrongHits(row.getWrongHits());
+        stats.setHunterDeaths(row.getHunterDeaths());
+        stats.setTotalPoints(row.getTotalPoints());
+        stats.setHighestGamePoints(row.getHighestGamePoints());
+        stats.setTotalPlayTime(row.getTotalPlayTime());
+        stats.setFirstPlayed(row.getFirstPlayed());
+        stats.setLastPlayed(row.getLastPlayed());
+        return stats;
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.stats.StatsManager.StatType;
+
+import java.util.*;
+
+/**
+ * In-memory ranking of every player for each leaderboard stat.
+ * Each {@link StatType} has an order-statistic treap (a randomized search
+ * tree that tracks subtree sizes), so top-N and rank lookups take O(log n)
+ * without touching the database. Built once from the table at startup and
+ * kept current by applying stat deltas. Deltas applied while building are
+ * held until {@link #markReady()}, so the table must not change under the
+ * build; the stats writer starts only once it is done. Lifetime totals and the current
+ * bucket of each {@link StatsWindow} have an index each.
+ */
+public class LeaderboardIndex {
+
+    private static final StatType[] TYPES = StatType.values();
+
+    private final Map<UUID, Row> rows;
+    private final RankTree[] trees;
+    private final List<StatsDelta> buffered; // Copies of deltas recorded while building
+    private volatile boolean ready;
+    private boolean abandoned;
+
+    public LeaderboardIndex() {
+        this.rows = new HashMap<>();
+        this.trees = new RankTree[TYPES.length];
+        for (int i = 0; i < TYPES.length; i++) {
+            trees[i] = new RankTree();
+        }
+        this.buffered = new ArrayList<>();
+    }
+
+    /**
+     * Adds a player's stored values while building the index.
+     *
+     * @param uuid the player's UUID
+     * @param name the player's last known name
+     * @param values the value for each stat type, in {@link StatType} order
+     */
+    public synchronized void load(UUID uuid, String name, long[] values) {
+        Row row = new Row(name, values);
+        Row previous = rows.put(uuid, row);
+        for (int i = 0; i < TYPES.length; i++) {
+            if (previous != null) {
+                trees[i].remove(previous.values[i], uuid);
+            }
+            trees[i].insert(values[i], uuid);
+        }
+    }
+
+    /**
+     * Marks the index as built and applies deltas recorded meanwhile.
+     * None of them may have been written to the table yet, or they would
+     * be counted twice.
+     */
+    public synchronized void markReady() {
+        ready = true;
+        for (StatsDelta delta : buffered) {
+            apply(delta);
+        }
+        buffered.clear();
+    }
+
+    /**
+     * Gives up on building the index; queries keep using the storage backend.
+     */
+    public synchronized void abandon() {
+        abandoned = true;
+        buffered.clear();
+    }
+
+    /**
+     * Checks if the index has been built.
+     *
+     * @return true if queries can be answered from memory
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Applies a player's stat changes.
+     *
+     * @param delta the changes; copied if held until the index is ready
+     */
+    public synchronized void apply(StatsDelta delta) {
+        if (!ready) {
+            if (!abandoned) {
+                // The writer merges later games into queued deltas in place
+                buffered.add(delta.copy());
+            }
+            return;
+        }
+
+        UUID uuid = delta.getUuid();
+        Row row = rows.get(uuid);
+        if (row == null) {
+            row = new Row(delta.getName(), new long[TYPES.length]);
+            rows.put(uuid, row);
+            for (int i = 0; i < TYPES.length; i++) {
+                trees[i].insert(0, uuid);
+            }
+        } else if (delta.getName() != null) {
+            row.name = delta.getName();
+        }
+
+        for (int i = 0; i < TYPES.length; i++) {
+            long current = row.values[i];
+            long updated = TYPES[i].apply(current, TYPES[i].getIncrement(delta));
+            if (updated != current) {
+                trees[i].remove(current, uuid);
+                trees[i].insert(updated, uuid);
+                row.values[i] = updated;
+            }
+        }
+    }
+
+    /**
+     * Gets the top players for a stat.
+     * Returned stats carry the player's name and leaderboard columns only.
+     *
+     * @param statType the stat
+     * @param limit maximum entries
+     * @return players in descending order
+     */
+    public synchronized List<PlayerStats> getTop(StatType statType, int limit) {
+        List<UUID> top = trees[statType.ordinal()].top(limit);
+        List<PlayerStats> result = new ArrayList<>(top.size());
+        for (UUID uuid : top) {
+            result.add(toStats(uuid, rows.get(uuid)));
+        }
+        return result;
+    }
+
+    /**
+     * Gets a player's rank for a stat. Tied players share a rank.
+     *
+     * @param uuid the player's UUID
+     * @param statType the stat
+     * @return 1-based rank, or -1 if the player has no stats
+     */
+    public synchronized int getRank(UUID uuid, StatType statType) {
+        Row row = rows.get(uuid);
+        if (row == null) return -1;
+        return trees[statType.ordinal()].countGreater(row.values[statType.ordinal()]) + 1;
+    }
+
+    /**
+     * Gets the number of indexed players.
+     *
+     * @return player count
+     */
+    public synchronized int size() {
+        return rows.size();
+    }
+
+    /**
+     * Builds a leaderboard entry from an indexed row.
+     */
+    private static PlayerStats toStats(UUID uuid, Row row) {
+        PlayerStats stats = new PlayerStats(uuid, row.name);
+        long[] v = row.values;
+        stats.setGamesPlayed((int) v[StatType.GAMES_PLAYED.ordinal()]);
+        stats.setGamesWon((int) v[StatType.GAMES_WON.ordinal()]);
+        stats.setTotalPoints(v[StatType.TOTAL_POINTS.ordinal()]);
+        stats.setPropsKilled((int) v[StatType.PROPS_KILLED.ordinal()]);
+        stats.setPropsFound((int) v[StatType.PROPS_FOUND.ordinal()]);
+        stats.setPropSurvives((int) v[StatType.PROP_SURVIVES.ordinal()]);
+        stats.setHighestGamePoints((int) v[StatType.HIGHEST_GAME_POINTS.ordinal()]);
+        stats.setTotalPlayTime(v[StatType.TOTAL_PLAY_TIME.ordinal()]);
+        return stats;
+    }
+
+    /**
+     * A player's indexed values.
+     */
+    private static class Row {
+        String name;
+        final long[] values;
+
+        Row(String name, long[] values) {
+            this.name = name;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Treap ordered by score descending, then UUID, with subtree sizes.
+     */
+    private static class RankTree {
+
+        private Node root;
+        private long seed = System.nanoTime() | 1;
+
+        void insert(long score, UUID uuid) {
+            root = insert(root, new Node(score, uuid, nextPriority()));
+        }
+
+        void remove(long score, UUID uuid) {
+            root = remove(root, score, uuid);
+        }
+
+        /**
+         * Counts entries with a strictly higher score.
+         */
+        int countGreater(long score) {
+            int count = 0;
+            Node node = root;
+            while (node != null) {
+                if (node.score > score) {
+                    count += size(node.left) + 1;
+                    node = node.right;
+                } else {
+                    node = node.left;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Gets the first entries in order.
+         */
+        List<UUID> top(int limit) {
+            List<UUID> result = new ArrayList<>(Math.min(limit, size(root)));
+            Deque<Node> stack = new ArrayDeque<>();
+            Node node = root;
+            while ((node != null || !stack.isEmpty()) && result.size() < limit) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+                node = stack.pop();
+                result.add(node.uuid);
+                node = node.right;
+            }
+            return result;
+        }
+
+        private Node insert(Node t, Node n) {
+            if (t == null) return n;
+            if (n.priority > t.priority) {
+                split(t, n.score, n.uuid, n);
+                update(n);
+                return n;
+            }
+            if (compare(n.score, n.uuid, t) < 0) {
+                t.left = insert(t.left, n);
+            } else {
+                t.right = insert(t.right, n);
+            }
+            update(t);
+            return t;
+        }
+
+        private Node remove(Node t, long score, UUID uuid) {
+            if (t == null) return null;
+            int c = compare(score, uuid, t);
+            if (c == 0) return merge(t.left, t.right);
+            if (c < 0) {
+                t.left = remove(t.left, score, uuid);
+            } else {
+                t.right = remove(t.right, score, uuid);
+            }
+            update(t);
+            return t;
+        }
+
+        /**
+         * Splits t around a key, storing the halves as into's children.
+         */
+        private void split(Node t, long score, UUID uuid, Node into) {
+            if (t == null) {
+                into.left = null;
+                into.right = null;
+                return;
+            }
+            if (compare(score, uuid, t) <= 0) {
+                split(t.left, score, uuid, into);
+                t.left = into.right;
+                update(t);
+                into.right = t;
+            } else {
+                split(t.right, score, uuid, into);
+                t.right = into.left;
+                update(t);
+                into.left = t;
+            }
+        }
+
+        private Node merge(Node a, Node b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            if (a.priority > b.priority) {
+                a.right = merge(a.right, b);
+                update(a);
+                return a;
+            }
+            b.left = merge(a, b.left);
+            update(b);
+            return b;
+        }
+
+        /**
+         * Orders higher scores first, then by UUID.
+         */
+        private static int compare(long score, UUID uuid, Node node) {
+            int c = Long.compare(node.score, score);
+            return c != 0 ? c : uuid.compareTo(node.uuid);
+        }
+
+        private static int size(Node node) {
+            return node != null ? node.size : 0;
+        }
+
+        private static void update(Node node) {
+            node.size = 1 + size(node.left) + size(node.right);
+        }
+
+        private int nextPriority() {
+            // xorshift; good enough to keep the treap balanced
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            return (int) seed;
+        }
+    }
+
+    /**
+     * A treap node.
+     */
+    private static class Node {
+        final long score;
+        final UUID uuid;
+        final int priority;
+        int size;
+        Node left;
+        Node right;
+
+        Node(long score, UUID uuid, int priority) {
+            this.score = score;
+            this.uuid = uuid;
+            this.priority = priority;
+            this.size = 1;
+        }
+    }
+}
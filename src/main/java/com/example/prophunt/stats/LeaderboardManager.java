@@ -4,22 +4,26 @@ import com.example.prophunt.PropHuntPlugin;
 import com.example.prophunt.util.MessageUtil;
 import org.bukkit.entity.Player;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Manages leaderboard display and caching.
+ * Leaderboards come straight from the in-memory leaderboard indexes, so
+ * they agree with the ranks shown beside them. Until the lifetime
+ * index is built, lifetime leaderboards fall back to storage through one
+ * immutable snapshot, which keeps being served while a single refresh runs.
  */
 public class LeaderboardManager {
 
     private final PropHuntPlugin plugin;
     private final StatsManager statsManager;
 
-    // Cached leaderboards (refreshed periodically)
-    private List<PlayerStats> topByPoints;
-    private List<PlayerStats> topByWins;
-    private List<PlayerStats> topByKills;
-    private long lastRefresh;
+    // Published leaderboards and the refresh currently running, if any
+    private final AtomicReference<Snapshot> snapshot;
+    private final AtomicReference<CompletableFuture<Snapshot>> refreshing;
 
     private static final long CACHE_DURATION = TimeUnit.MINUTES.toMillis(5);
     private static final int LEADERBOARD_SIZE = 10;
@@ -27,43 +31,124 @@ public class LeaderboardManager {
     public LeaderboardManager(PropHuntPlugin plugin, StatsManager statsManager) {
         this.plugin = plugin;
         this.statsManager = statsManager;
+        this.snapshot = new AtomicReference<>();
+        this.refreshing = new AtomicReference<>();
     }
 
     /**
-     * Shows the leaderboard to a player.
+     * Shows the lifetime leaderboard to a player.
      */
     public void showLeaderboard(Player player, StatsManager.StatType statType) {
-        refreshIfNeeded();
-
-        List<PlayerStats> leaderboard = switch (statType) {
-            case TOTAL_POINTS -> topByPoints;
-            case GAMES_WON -> topByWins;
-            case PROPS_KILLED -> topByKills;
-            default -> null;
-        };
+        showLeaderboard(player, statType, StatsWindow.LIFETIME);
+    }
 
-        if (leaderboard == null) {
-            // Fetch fresh for uncommon stats
-            statsManager.getTopPlayers(statType, LEADERBOARD_SIZE).thenAccept(stats -> {
-                plugin.getServer().getScheduler().runTask(plugin, () -> {
-                    displayLeaderboard(player, stats, statType);
-                });
-            });
+    /**
+     * Shows the leaderboard for a time window to a player.
+     */
+    public void showLeaderboard(Player player, StatsManager.StatType statType, StatsWindow window) {
+        if (window.isWindowed() && !statsManager.hasWindows()) {
+            player.sendMessage(MessageUtil.colorize("&c" + window.getDisplayName()
+                    + " leaderboards need the sqlite or h2 storage."));
             return;
         }
 
-        displayLeaderboard(player, leaderboard, statType);
+        getLeaderboard(statType, window).thenAccept(stats ->
+                plugin.getServer().getScheduler().runTask(plugin, () ->
+                        displayLeaderboard(player, stats, statType, window)));
+    }
+
+    /**
+     * Gets the top players for a stat within a time window.
+     *
+     * @param statType the stat
+     * @param window the window
+     * @return future completing with up to 10 players, best first
+     */
+    public CompletableFuture<List<PlayerStats>> getLeaderboard(StatsManager.StatType statType, StatsWindow window) {
+        if (!window.isWindowed()) {
+            return getLeaderboard(statType);
+        }
+        return statsManager.getTopPlayers(statType, window, LEADERBOARD_SIZE);
+    }
+
+    /**
+     * Gets the top players for a stat.
+     * Answered from the live leaderboard index once it is ready. Before
+     * that, completes immediately from the current snapshot, even if stale;
+     * only a cold cache waits, and then on the shared refresh.
+     *
+     * @param statType the stat
+     * @return future completing with up to 10 players, best first
+     */
+    public CompletableFuture<List<PlayerStats>> getLeaderboard(StatsManager.StatType statType) {
+        LeaderboardIndex index = statsManager.getLeaderboardIndex();
+        if (index.isReady()) {
+            return CompletableFuture.completedFuture(index.getTop(statType, LEADERBOARD_SIZE));
+        }
+
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return refresh().thenApply(s -> s.get(statType));
+        }
+
+        if (System.currentTimeMillis() - current.createdAt >= CACHE_DURATION) {
+            refresh(); // Serve stale, revalidate in the background
+        }
+        return CompletableFuture.completedFuture(current.get(statType));
+    }
+
+    /**
+     * Starts a refresh unless one is already running.
+     *
+     * @return the running refresh
+     */
+    private CompletableFuture<Snapshot> refresh() {
+        CompletableFuture<Snapshot> started = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = refreshing.compareAndExchange(null, started);
+        if (running != null) {
+            return running;
+        }
+
+        StatsManager.StatType[] types = StatsManager.StatType.values();
+        List<CompletableFuture<List<PlayerStats>>> lookups = new ArrayList<>(types.length);
+        for (StatsManager.StatType type : types) {
+            lookups.add(statsManager.getTopPlayers(type, LEADERBOARD_SIZE));
+        }
+
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Error refreshing leaderboards: " + error.getMessage());
+                Snapshot previous = snapshot.get();
+                refreshing.set(null);
+                started.complete(previous != null ? previous : Snapshot.EMPTY);
+                return;
+            }
+
+            Map<StatsManager.StatType, List<PlayerStats>> boards = new EnumMap<>(StatsManager.StatType.class);
+            for (int i = 0; i < types.length; i++) {
+                boards.put(types[i], List.copyOf(lookups.get(i).join()));
+            }
+
+            Snapshot fresh = new Snapshot(boards, System.currentTimeMillis());
+            snapshot.set(fresh);
+            refreshing.set(null);
+            started.complete(fresh);
+        });
+
+        return started;
     }
 
     /**
      * Displays the leaderboard to a player.
      */
-    private void displayLeaderboard(Player player, List<PlayerStats> stats, StatsManager.StatType statType) {
+    private void displayLeaderboard(Player player, List<PlayerStats> stats, StatsManager.StatType statType,
+                                    StatsWindow window) {
         MessageUtil messageUtil = plugin.getMessageUtil();
 
         player.sendMessage("");
         player.sendMessage(MessageUtil.colorize("&6&l━━━ PropHunt Leaderboard ━━━"));
-        player.sendMessage(MessageUtil.colorize("&7Top 10 by " + statType.getDisplayName()));
+        player.sendMessage(MessageUtil.colorize("&7Top 10 by " + statType.getDisplayName()
+                + (window.isWindowed() ? " &8(" + window.getDisplayName() + ")" : "")));
         player.sendMessage("");
 
         if (stats.isEmpty()) {
@@ -83,7 +168,7 @@ public class LeaderboardManager {
         player.sendMessage("");
 
         // Show player's rank
-        statsManager.getPlayerRank(player.getUniqueId(), statType).thenAccept(rank -> {
+        statsManager.getPlayerRank(player.getUniqueId(), statType, window).thenAccept(rank -> {
             if (rank > 0) {
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     player.sendMessage(MessageUtil.colorize("&7Your rank: &e#" + rank));
@@ -146,28 +231,6 @@ public class LeaderboardManager {
         return String.format("%dm", minutes);
     }
 
-    /**
-     * Refreshes leaderboard cache if expired.
-     */
-    private void refreshIfNeeded() {
-        long now = System.currentTimeMillis();
-        if (now - lastRefresh < CACHE_DURATION && topByPoints != null) {
-            return;
-        }
-
-        lastRefresh = now;
-
-        // Refresh common leaderboards asynchronously
-        statsManager.getTopPlayers(StatsManager.StatType.TOTAL_POINTS, LEADERBOARD_SIZE)
-                .thenAccept(stats -> topByPoints = stats);
-
-        statsManager.getTopPlayers(StatsManager.StatType.GAMES_WON, LEADERBOARD_SIZE)
-                .thenAccept(stats -> topByWins = stats);
-
-        statsManager.getTopPlayers(StatsManager.StatType.PROPS_KILLED, LEADERBOARD_SIZE)
-                .thenAccept(stats -> topByKills = stats);
-    }
-
     /**
      * Shows a player their own stats.
      */
@@ -176,11 +239,18 @@ public class LeaderboardManager {
     }
 
     /**
-     * Shows a player's stats to a viewer.
+     * Shows a player's stats to a viewer, once they are loaded.
      */
     public void showPlayerStats(Player viewer, Player target) {
-        PlayerStats stats = statsManager.getStats(target);
+        statsManager.getStatsAsync(target).thenAccept(stats ->
+                plugin.getServer().getScheduler().runTask(plugin, () ->
+                        displayPlayerStats(viewer, target, stats)));
+    }
 
+    /**
+     * Displays a player's stats to a viewer.
+     */
+    private void displayPlayerStats(Player viewer, Player target, PlayerStats stats) {
         viewer.sendMessage("");
         viewer.sendMessage(MessageUtil.colorize("&6&l━━━ " + target.getName() + "'s Stats ━━━"));
         viewer.sendMessage("");
@@ -210,4 +280,24 @@ public class LeaderboardManager {
         viewer.sendMessage(MessageUtil.colorize("  &7K/D Ratio: &f" + String.format("%.2f", stats.getKDR())));
         viewer.sendMessage("");
     }
+
+    /**
+     * Immutable leaderboards for every stat type.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), 0);
+
+        private final Map<StatsManager.StatType, List<PlayerStats>> boards;
+        private final long createdAt;
+
+        Snapshot(Map<StatsManager.StatType, List<PlayerStats>> boards, long createdAt) {
+            this.boards = boards;
+            this.createdAt = createdAt;
+        }
+
+        List<PlayerStats> get(StatsManager.StatType statType) {
+            return boards.getOrDefault(statType, List.of());
+        }
+    }
 }
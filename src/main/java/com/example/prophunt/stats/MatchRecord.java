@@ -0,0 +1,142 @@
+package com.example.prophunt.stats;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A finished game, as stored in match history.
+ */
+public class MatchRecord {
+
+    private final long id;
+    private final String arena;
+    private final long startedAt;
+    private final int duration; // seconds
+    private final String winner;
+    private final List<Participant> participants;
+
+    public MatchRecord(String arena, long startedAt, int duration, String winner) {
+        // Random ids need no round trip, and stay unique across servers sharing a database
+        this.id = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        this.arena = arena;
+        this.startedAt = startedAt;
+        this.duration = duration;
+        this.winner = winner;
+        this.participants = new ArrayList<>();
+    }
+
+    /**
+     * Adds a player's result.
+     *
+     * @param uuid the player's UUID
+     * @param team the team the player started on
+     * @param points points earned
+     * @param hits hits landed as a hunter, or taken as a prop
+     * @param survival seconds survived
+     */
+    public void addParticipant(UUID uuid, String team, int points, int hits, int survival) {
+        participants.add(new Participant(uuid, team, points, hits, survival));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getArena() {
+        return arena;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public String getWinner() {
+        return winner;
+    }
+
+    public List<Participant> getParticipants() {
+        return Collections.unmodifiableList(participants);
+    }
+
+    /**
+     * One player's result in a match.
+     */
+    public static class Participant {
+        private final UUID uuid;
+        private final String team;
+        private final int points;
+        private final int hits;
+        private final int survival;
+
+        Participant(UUID uuid, String team, int points, int hits, int survival) {
+            this.uuid = uuid;
+            this.team = team;
+            this.points = points;
+            this.hits = hits;
+            this.survival = survival;
+        }
+
+        public UUID getUuid() {
+            return uuid;
+        }
+
+        public String getTeam() {
+            return team;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+
+        public int getHits() {
+            return hits;
+        }
+
+        public int getSurvival() {
+            return survival;
+        }
+    }
+
+    /**
+     * Totals for an arena's matches over a period.
+     */
+    public static class Summary {
+        private final int matches;
+        private final int propWins;
+        private final int hunterWins;
+        private final long totalDuration;
+        private final long totalPlayers;
+
+        public Summary(int matches, int propWins, int hunterWins, long totalDuration, long totalPlayers) {
+            this.matches = matches;
+            this.propWins = propWins;
+            this.hunterWins = hunterWins;
+            this.totalDuration = totalDuration;
+            this.totalPlayers = totalPlayers;
+        }
+
+        public int getMatches() {
+            return matches;
+        }
+
+        public int getPropWins() {
+            return propWins;
+        }
+
+        public int getHunterWins() {
+            return hunterWins;
+        }
+
+        public double getAverageDuration() {
+            return matches > 0 ? (double) totalDuration / matches : 0;
+        }
+
+        public double getAveragePlayers() {
+            return matches > 0 ? (double) totalPlayers / matches : 0;
+        }
+    }
+}
@@ -49,6 +49,34 @@ public class PlayerStats {
         this.lastKnownName = lastKnownName;
     }
 
+    /**
+     * Applies a delta to these stats.
+     *
+     * @param delta the changes to apply
+     */
+    public void apply(StatsDelta delta) {
+        if (delta.getName() != null) {
+            this.lastKnownName = delta.getName();
+        }
+        this.gamesPlayed += delta.getGamesPlayed();
+        this.gamesWon += delta.getGamesWon();
+        this.gamesLost += delta.getGamesLost();
+        this.timesAsProp += delta.getTimesAsProp();
+        this.propSurvives += delta.getPropSurvives();
+        this.propDeaths += delta.getPropDeaths();
+        this.totalTimeAsHiddenProp += delta.getTimeHidden();
+        this.successfulTaunts += delta.getSuccessfulTaunts();
+        this.timesAsHunter += delta.getTimesAsHunter();
+        this.propsFound += delta.getPropsFound();
+        this.propsKilled += delta.getPropsKilled();
+        this.wrongHits += delta.getWrongHits();
+        this.hunterDeaths += delta.getHunterDeaths();
+        this.totalPoints += delta.getPoints();
+        this.highestGamePoints = Math.max(this.highestGamePoints, delta.getHighestGamePoints());
+        this.totalPlayTime += delta.getPlayTime();
+        this.lastPlayed = Math.max(this.lastPlayed, delta.getPlayedAt());
+    }
+
     // Getters
     public UUID getUuid() {
         return uuid;
@@ -0,0 +1,125 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+
+import java.io.File;
+import java.sql.*;
+
+/**
+ * Stats backend using a local SQLite file, {@code stats.db}.
+ */
+public class SqliteStatsStorage extends JdbcStatsStorage {
+
+    private static final String UPSERT = """
+            INSERT INTO player_stats (
+                uuid, last_known_name, games_played, games_won, games_lost,
+                times_as_prop, prop_survives, prop_deaths, total_time_hidden, successful_taunts,
+                times_as_hunter, props_found, props_killed, wrong_hits, hunter_deaths,
+                total_points, highest_game_points, total_play_time, first_played, last_played
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT(uuid) DO UPDATE SET
+                last_known_name = COALESCE(excluded.last_known_name, last_known_name),
+                games_played = games_played + excluded.games_played,
+                games_won = games_won + excluded.games_won,
+                games_lost = games_lost + excluded.games_lost,
+                times_as_prop = times_as_prop + excluded.times_as_prop,
+                prop_survives = prop_survives + excluded.prop_survives,
+                prop_deaths = prop_deaths + excluded.prop_deaths,
+                total_time_hidden = total_time_hidden + excluded.total_time_hidden,
+                successful_taunts = successful_taunts + excluded.successful_taunts,
+                times_as_hunter = times_as_hunter + excluded.times_as_hunter,
+                props_found = props_found + excluded.props_found,
+                props_killed = props_killed + excluded.props_killed,
+                wrong_hits = wrong_hits + excluded.wrong_hits,
+                hunter_deaths = hunter_deaths + excluded.hunter_deaths,
+                total_points = total_points + excluded.total_points,
+                highest_game_points = MAX(highest_game_points, excluded.highest_game_points),
+                total_play_time = total_play_time + excluded.total_play_time,
+                last_played = MAX(last_played, excluded.last_played)
+            """;
+
+    private static final String WINDOW_UPSERT = """
+            INSERT INTO stats_window (
+                window_id, bucket, uuid, last_known_name,
+                games_played, games_won, total_points, props_killed,
+                props_found, prop_survives, highest_game_points, total_play_time
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT(window_id, bucket, uuid) DO UPDATE SET
+                last_known_name = COALESCE(excluded.last_known_name, last_known_name),
+                games_played = games_played + excluded.games_played,
+                games_won = games_won + excluded.games_won,
+                total_points = total_points + excluded.total_points,
+                props_killed = props_killed + excluded.props_killed,
+                props_found = props_found + excluded.props_found,
+                prop_survives = prop_survives + excluded.prop_survives,
+                highest_game_points = MAX(highest_game_points, excluded.highest_game_points),
+                total_play_time = total_play_time + excluded.total_play_time
+            """;
+
+    private static final String FIND_BY_NAME = """
+            SELECT * FROM player_stats
+            WHERE last_known_name = ? COLLATE NOCASE
+            ORDER BY last_played DESC LIMIT 1
+            """;
+
+    // match_day is days since the epoch, UTC
+    private static final String ROLL_UP = """
+            INSERT INTO match_daily (arena, match_day, matches, prop_wins, hunter_wins, total_duration, total_players)
+            SELECT arena, started_at / 86400000, COUNT(*),
+                   SUM(CASE WHEN winner = 'PROPS' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN winner = 'HUNTERS' THEN 1 ELSE 0 END),
+                   SUM(duration), SUM(players)
+            FROM match_history WHERE started_at < ?
+            GROUP BY arena, started_at / 86400000
+            ON CONFLICT(arena, match_day) DO UPDATE SET
+                matches = matches + excluded.matches,
+                prop_wins = prop_wins + excluded.prop_wins,
+                hunter_wins = hunter_wins + excluded.hunter_wins,
+                total_duration = total_duration + excluded.total_duration,
+                total_players = total_players + excluded.total_players
+            """;
+
+    private final String url;
+
+    public SqliteStatsStorage(PropHuntPlugin plugin) {
+        super(plugin);
+        this.url = "jdbc:sqlite:" + new File(plugin.getDataFolder(), "stats.db").getAbsolutePath();
+    }
+
+    @Override
+    public String getName() {
+        return "SQLite";
+    }
+
+    @Override
+    protected Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        StatsSchema.applyPragmas(connection, plugin.getConfigManager());
+        return connection;
+    }
+
+    @Override
+    protected void createSchema(Connection connection) throws SQLException {
+        StatsSchema.migrate(plugin, connection);
+    }
+
+    @Override
+    protected String getUpsertSql() {
+        return UPSERT;
+    }
+
+    @Override
+    protected String getWindowUpsertSql() {
+        return WINDOW_UPSERT;
+    }
+
+    @Override
+    protected String getFindByNameSql() {
+        return FIND_BY_NAME;
+    }
+
+    @Override
+    protected String getRollUpSql() {
+        return ROLL_UP;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.prophunt.stats;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache of loaded player stats.
+ * Entries for online players are pinned; once a player leaves, their entry
+ * becomes evictable after their pending writes finish and it has sat idle,
+ * or sooner when the cache is over its size limit.
+ */
+public class StatsCache {
+
+    private final Map<UUID, Entry> entries;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+
+    public StatsCache() {
+        this.entries = new ConcurrentHashMap<>();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+    }
+
+    /**
+     * Gets cached stats, counting the lookup as a hit or miss.
+     *
+     * @param uuid the player's UUID
+     * @return the stats, or null if not cached
+     */
+    public PlayerStats get(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        entry.touch();
+        return entry.stats;
+    }
+
+    /**
+     * Gets cached stats without affecting counters or idle time.
+     *
+     * @param uuid the player's UUID
+     * @return the stats, or null if not cached
+     */
+    public PlayerStats peek(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        return entry != null ? entry.stats : null;
+    }
+
+    /**
+     * Adds freshly loaded stats unless an entry already exists.
+     *
+     * @param stats the stats
+     * @return the cached stats (existing or added)
+     */
+    public PlayerStats putIfAbsent(PlayerStats stats) {
+        Entry entry = entries.computeIfAbsent(stats.getUuid(), id -> new Entry(stats));
+        entry.touch();
+        return entry.stats;
+    }
+
+    /**
+     * Updates which entries belong to online players.
+     * Catches players who left while their stats were still loading.
+     *
+     * @param isOnline tests whether a player is online
+     */
+    void refreshOnline(Predicate<UUID> isOnline) {
+        for (Map.Entry<UUID, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            boolean online = isOnline.test(e.getKey());
+            if (entry.online && !online) {
+                entry.lastAccess = System.currentTimeMillis();
+            }
+            entry.online = online;
+        }
+    }
+
+    /**
+     * Marks a player as offline, making their entry evictable.
+     *
+     * @param uuid the player's UUID
+     */
+    public void markOffline(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        if (entry != null) {
+            entry.online = false;
+            entry.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Finds offline entries that should leave the cache.
+     * Idle entries are always candidates; if the cache is over its limit the
+     * least recently used offline entries are added until it would fit.
+     *
+     * @param maxSize maximum cache size
+     * @param idleMillis idle time before an offline entry is evicted
+     * @return candidate entries, least recently used first
+     */
+    List<Entry> findEvictable(int maxSize, long idleMillis) {
+        long now = System.currentTimeMillis();
+        List<Entry> offline = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (!entry.online) {
+                offline.add(entry);
+            }
+        }
+        offline.sort(Comparator.comparingLong(e -> e.lastAccess));
+
+        int overflow = entries.size() - maxSize;
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : offline) {
+            if (overflow > 0 || now - entry.lastAccess >= idleMillis) {
+                result.add(entry);
+                overflow--;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param entry the entry to evict
+     */
+    void evict(Entry entry) {
+        if (entries.remove(entry.stats.getUuid(), entry)) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * A cached stats entry.
+     */
+    static class Entry {
+        final PlayerStats stats;
+        volatile long lastAccess;
+        volatile boolean online;
+
+        Entry(PlayerStats stats) {
+            this.stats = stats;
+            this.lastAccess = System.currentTimeMillis();
+            this.online = true;
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.prophunt.stats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Changes to a player's statistics, written as increments.
+ * Counters are added to the stored row rather than replacing it, so
+ * concurrent writers never overwrite each other's updates.
+ */
+public class StatsDelta {
+
+    private final UUID uuid;
+    private String name;
+
+    private int gamesPlayed;
+    private int gamesWon;
+    private int gamesLost;
+
+    private int timesAsProp;
+    private int propSurvives;
+    private int propDeaths;
+    private long timeHidden; // seconds
+    private int successfulTaunts;
+
+    private int timesAsHunter;
+    private int propsFound;
+    private int propsKilled;
+    private int wrongHits;
+    private int hunterDeaths;
+
+    private long points;
+    private int highestGamePoints; // Stored as MAX, not added
+    private long playTime; // seconds
+    private long playedAt;
+
+    public StatsDelta(UUID uuid, String name) {
+        this.uuid = uuid;
+        this.name = name;
+        this.playedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Merges another delta for the same player into this one.
+     *
+     * @param other the later delta
+     */
+    public void merge(StatsDelta other) {
+        if (other.name != null) {
+            this.name = other.name;
+        }
+        this.gamesPlayed += other.gamesPlayed;
+        this.gamesWon += other.gamesWon;
+        this.gamesLost += other.gamesLost;
+        this.timesAsProp += other.timesAsProp;
+        this.propSurvives += other.propSurvives;
+        this.propDeaths += other.propDeaths;
+        this.timeHidden += other.timeHidden;
+        this.successfulTaunts += other.successfulTaunts;
+        this.timesAsHunter += other.timesAsHunter;
+        this.propsFound += other.propsFound;
+        this.propsKilled += other.propsKilled;
+        this.wrongHits += other.wrongHits;
+        this.hunterDeaths += other.hunterDeaths;
+        this.points += other.points;
+        this.highestGamePoints = Math.max(this.highestGamePoints, other.highestGamePoints);
+        this.playTime += other.playTime;
+        this.playedAt = Math.max(this.playedAt, other.playedAt);
+    }
+
+    /**
+     * Copies this delta, so later merges into either leave the other alone.
+     *
+     * @return the copy
+     */
+    public StatsDelta copy() {
+        StatsDelta copy = new StatsDelta(uuid, name);
+        copy.merge(this);
+        copy.playedAt = playedAt;
+        return copy;
+    }
+
+    /**
+     * Writes this delta in binary form.
+     *
+     * @param out the output
+     * @throws IOException if writing fails
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+        out.writeBoolean(name != null);
+        if (name != null) {
+            out.writeUTF(name);
+        }
+        out.writeInt(gamesPlayed);
+        out.writeInt(gamesWon);
+        out.writeInt(gamesLost);
+        out.writeInt(timesAsProp);
+        out.writeInt(propSurvives);
+        out.writeInt(propDeaths);
+        out.writeLong(timeHidden);
+        out.writeInt(successfulTaunts);
+        out.writeInt(timesAsHunter);
+        out.writeInt(propsFound);
+        out.writeInt(propsKilled);
+        out.writeInt(wrongHits);
+        out.writeInt(hunterDeaths);
+        out.writeLong(points);
+        out.writeInt(highestGamePoints);
+        out.writeLong(playTime);
+        out.writeLong(playedAt);
+    }
+
+    /**
+     * Reads a delta written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in the input
+     * @return the delta
+     * @throws IOException if reading fails
+     */
+    static StatsDelta readFrom(DataInput in) throws IOException {
+        UUID uuid = new UUID(in.readLong(), in.readLong());
+        String name = in.readBoolean() ? in.readUTF() : null;
+
+        StatsDelta delta = new StatsDelta(uuid, name);
+        delta.gamesPlayed = in.readInt();
+        delta.gamesWon = in.readInt();
+        delta.gamesLost = in.readInt();
+        delta.timesAsProp = in.readInt();
+        delta.propSurvives = in.readInt();
+        delta.propDeaths = in.readInt();
+        delta.timeHidden = in.readLong();
+        delta.successfulTaunts = in.readInt();
+        delta.timesAsHunter = in.readInt();
+        delta.propsFound = in.readInt();
+        delta.propsKilled = in.readInt();
+        delta.wrongHits = in.readInt();
+        delta.hunterDeaths = in.readInt();
+        delta.points = in.readLong();
+        delta.highestGamePoints = in.readInt();
+        delta.playTime = in.readLong();
+        delta.playedAt = in.readLong();
+        return delta;
+    }
+
+    // Mutators
+    public void incrementGamesPlayed() {
+        this.gamesPlayed++;
+    }
+
+    public void incrementGamesWon() {
+        this.gamesWon++;
+    }
+
+    public void incrementGamesLost() {
+        this.gamesLost++;
+    }
+
+    public void incrementTimesAsProp() {
+        this.timesAsProp++;
+    }
+
+    public void incrementPropSurvives() {
+        this.propSurvives++;
+    }
+
+    public void incrementPropDeaths() {
+        this.propDeaths++;
+    }
+
+    public void addHiddenTime(long milliseconds) {
+        this.timeHidden += milliseconds / 1000;
+    }
+
+    public void addSuccessfulTaunts(int count) {
+        this.successfulTaunts += count;
+    }
+
+    public void incrementTimesAsHunter() {
+        this.timesAsHunter++;
+    }
+
+    public void addPropsFound(int count) {
+        this.propsFound += count;
+    }
+
+    public void addPropsKilled(int count) {
+        this.propsKilled += count;
+    }
+
+    public void addWrongHits(int count) {
+        this.wrongHits += count;
+    }
+
+    public void incrementHunterDeaths() {
+        this.hunterDeaths++;
+    }
+
+    public void addPoints(int points) {
+        this.points += points;
+    }
+
+    public void updateHighestGamePoints(int gamePoints) {
+        this.highestGamePoints = Math.max(this.highestGamePoints, gamePoints);
+    }
+
+    public void addPlayTime(long seconds) {
+        this.playTime += seconds;
+    }
+
+    // Getters
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public int getGamesWon() {
+        return gamesWon;
+    }
+
+    public int getGamesLost() {
+        return gamesLost;
+    }
+
+    public int getTimesAsProp() {
+        return timesAsProp;
+    }
+
+    public int getPropSurvives() {
+        return propSurvives;
+    }
+
+    public int getPropDeaths() {
+        return propDeaths;
+    }
+
+    public long getTimeHidden() {
+        return timeHidden;
+    }
+
+    public int getSuccessfulTaunts() {
+        return successfulTaunts;
+    }
+
+    public int getTimesAsHunter() {
+        return timesAsHunter;
+    }
+
+    public int getPropsFound() {
+        return propsFound;
+    }
+
+    public int getPropsKilled() {
+        return propsKilled;
+    }
+
+    public int getWrongHits() {
+        return wrongHits;
+    }
+
+    public int getHunterDeaths() {
+        return hunterDeaths;
+    }
+
+    public long getPoints() {
+        return points;
+    }
+
+    public int getHighestGamePoints() {
+        return highestGamePoints;
+    }
+
+    public long getPlayTime() {
+        return playTime;
+    }
+
+    public long getPlayedAt() {
+        return playedAt;
+    }
+}
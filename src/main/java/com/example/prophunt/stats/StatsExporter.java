@@ -0,0 +1,298 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports every player's stats to a gzip file in {@code exports/}.
+ * Rows are streamed from the storage backend straight to the file, so
+ * memory use does not grow with the number of players. One export runs at
+ * a time, on its own thread, and is throttled so the game's own reads and
+ * writes keep up. The file appears under its final name only once complete.
+ */
+public class StatsExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long PROGRESS_INTERVAL = 100_000; // rows between progress messages
+    private static final long THROTTLE_CHECK = 256; // rows between rate checks
+
+    private static final String[] COLUMNS = {
+            "uuid", "last_known_name", "games_played", "games_won", "games_lost",
+            "times_as_prop", "prop_survives", "prop_deaths", "total_time_hidden", "successful_taunts",
+            "times_as_hunter", "props_found", "props_killed", "wrong_hits", "hunter_deaths",
+            "total_points", "highest_game_points", "total_play_time", "first_played", "last_played"
+    };
+
+    private final PropHuntPlugin plugin;
+    private final StatsStorage storage;
+    private final AtomicBoolean running;
+    private volatile Thread thread;
+
+    public StatsExporter(PropHuntPlugin plugin, StatsStorage storage) {
+        this.plugin = plugin;
+        this.storage = storage;
+        this.running = new AtomicBoolean();
+    }
+
+    /**
+     * Starts an export.
+     *
+     * @param format the file format
+     * @param rowsPerSecond maximum rows read per second (0 is unlimited)
+     * @return future completing with the written file, or failing if an
+     *         export is already running or the export fails
+     */
+    public CompletableFuture<File> export(Format format, int rowsPerSecond) {
+        if (!running.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("An export is already running"));
+        }
+
+        CompletableFuture<File> future = new CompletableFuture<>();
+        Thread exportThread = new Thread(() -> {
+            try {
+                future.complete(write(format, rowsPerSecond));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                thread = null;
+                running.set(false);
+            }
+        }, "PropHunt-StatsExport");
+        exportThread.setDaemon(true);
+        exportThread.setPriority(Thread.MIN_PRIORITY);
+        thread = exportThread;
+        exportThread.start();
+        return future;
+    }
+
+    /**
+     * Checks if an export is running.
+     *
+     * @return true if running
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Cancels a running export and waits briefly for it to stop.
+     * The partial file is deleted.
+     */
+    public void cancel() {
+        Thread exportThread = thread;
+        if (exportThread == null) return;
+
+        exportThread.interrupt();
+        try {
+            exportThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the export file. Runs on the export thread.
+     */
+    private File write(Format format, int rowsPerSecond) throws IOException, StatsStorageException {
+        File folder = new File(plugin.getDataFolder(), "exports");
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Could not create " + folder);
+        }
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File target = new File(folder, "player_stats-" + timestamp + "." + format.getExtension() + ".gz");
+        File temp = new File(folder, target.getName() + ".tmp");
+
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        boolean done = false;
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(temp), BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            if (format == Format.CSV) {
+                out.write(String.join(",", COLUMNS));
+                out.write('\n');
+            }
+
+            storage.streamAll(stats -> {
+                try {
+                    writeRow(out, format, stats);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                long count = ++rows[0];
+                if (count % PROGRESS_INTERVAL == 0) {
+                    plugin.getLogger().info("Stats export: " + count + " players written");
+                }
+                if (count % THROTTLE_CHECK == 0) {
+                    throttle(count, start, rowsPerSecond);
+                }
+            });
+            done = true;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(temp.toPath());
+            }
+        }
+
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        plugin.getLogger().info("Stats export: " + rows[0] + " players written to " + target.getName()
+                + " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        return target;
+    }
+
+    /**
+     * Sleeps until the rows read so far are within the rate limit.
+     *
+     * @throws CancellationException if the export was cancelled
+     */
+    private static void throttle(long rows, long start, int rowsPerSecond) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Export cancelled");
+        }
+        if (rowsPerSecond <= 0) return;
+
+        long due = start + rows * TimeUnit.SECONDS.toNanos(1) / rowsPerSecond;
+        long ahead = due - System.nanoTime();
+        if (ahead <= 0) return;
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(ahead);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Export cancelled");
+        }
+    }
+
+    /**
+     * Writes one player's row.
+     */
+    private static void writeRow(Writer out, Format format, PlayerStats stats) throws IOException {
+        Object[] values = {
+                stats.getUuid(), stats.getLastKnownName(), stats.getGamesPlayed(), stats.getGamesWon(),
+                stats.getGamesLost(), stats.getTimesAsProp(), stats.getPropSurvives(), stats.getPropDeaths(),
+                stats.getTotalTimeAsHiddenProp(), stats.getSuccessfulTaunts(), stats.getTimesAsHunter(),
+                stats.getPropsFound(), stats.getPropsKilled(), stats.getWrongHits(), stats.getHunterDeaths(),
+                stats.getTotalPoints(), stats.getHighestGamePoints(), stats.getTotalPlayTime(),
+                stats.getFirstPlayed(), stats.getLastPlayed()
+        };
+
+        if (format == Format.CSV) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.write(',');
+                if (values[i] instanceof String text) {
+                    writeCsvString(out, text);
+                } else {
+                    out.write(String.valueOf(values[i]));
+                }
+            }
+        } else {
+            out.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.write(',');
+                out.write('"');
+                out.write(COLUMNS[i]);
+                out.write("\":");
+                if (values[i] == null) {
+                    out.write("null");
+                } else if (values[i] instanceof Number) {
+                    out.write(String.valueOf(values[i]));
+                } else {
+                    writeJsonString(out, values[i].toString());
+                }
+            }
+            out.write('}');
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Writes a CSV field, quoted if it needs to be.
+     * A leading formula character is escaped so spreadsheets show it as text.
+     */
+    private static void writeCsvString(Writer out, String text) throws IOException {
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    /**
+     * Writes a JSON string literal.
+     */
+    private static void writeJsonString(Writer out, String text) throws IOException {
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+
+    /**
+     * Export file formats.
+     */
+    public enum Format {
+        CSV("csv"),
+        JSON("ndjson"); // One JSON object per line
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Gets a format by name or extension, ignoring case.
+         *
+         * @param name the name
+         * @return the format, or null if unknown
+         */
+        public static Format fromString(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name) || format.extension.equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+}
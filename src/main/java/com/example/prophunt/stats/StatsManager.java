@@ -1,121 +1,287 @@
 package com.example.prophunt.stats;
 
 import com.example.prophunt.PropHuntPlugin;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
-import java.sql.*;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 
 /**
- * Manages player statistics with SQLite persistence.
+ * Manages player statistics, persisted through a {@link StatsStorage}
+ * backend chosen by {@code storage.type}.
+ * All reads run on a dedicated loader thread and all writes on the
+ * {@link StatsWriter} thread; the server thread never touches JDBC.
  */
 public class StatsManager {
 
     private final PropHuntPlugin plugin;
-    private final Map<UUID, PlayerStats> cache;
-    private Connection connection;
-
-    private static final String CREATE_TABLE = """
-            CREATE TABLE IF NOT EXISTS player_stats (
-                uuid TEXT PRIMARY KEY,
-                last_known_name TEXT,
-                games_played INTEGER DEFAULT 0,
-                games_won INTEGER DEFAULT 0,
-                games_lost INTEGER DEFAULT 0,
-                times_as_prop INTEGER DEFAULT 0,
-                prop_survives INTEGER DEFAULT 0,
-                prop_deaths INTEGER DEFAULT 0,
-                total_time_hidden INTEGER DEFAULT 0,
-                successful_taunts INTEGER DEFAULT 0,
-                times_as_hunter INTEGER DEFAULT 0,
-                props_found INTEGER DEFAULT 0,
-                props_killed INTEGER DEFAULT 0,
-                wrong_hits INTEGER DEFAULT 0,
-                hunter_deaths INTEGER DEFAULT 0,
-                total_points INTEGER DEFAULT 0,
-                highest_game_points INTEGER DEFAULT 0,
-                total_play_time INTEGER DEFAULT 0,
-                first_played INTEGER,
-                last_played INTEGER
-            )
-            """;
+    private final StatsCache cache;
+    private final LeaderboardIndex leaderboardIndex;
+    private final Map<StatsWindow, WindowBoard> windowBoards;
+    private final Map<UUID, CompletableFuture<PlayerStats>> loading;
+    private final ExecutorService loader;
+    private StatsStorage storage;
+    private StatsWriter writer;
+    private StatsExporter exporter;
+    private BukkitTask evictionTask;
+
+    private static final long EVICTION_INTERVAL = 1200L; // ticks (1 minute)
 
     public StatsManager(PropHuntPlugin plugin) {
         this.plugin = plugin;
-        this.cache = new ConcurrentHashMap<>();
+        this.cache = new StatsCache();
+        this.leaderboardIndex = new LeaderboardIndex();
+        this.windowBoards = new ConcurrentHashMap<>();
+        this.loading = new ConcurrentHashMap<>();
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "PropHunt-StatsLoader");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
-     * Initializes the database connection.
+     * Opens the configured storage backend.
      */
     public void initialize() {
+        File dataFolder = plugin.getDataFolder();
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+
+        StatsStorage opened = createStorage(plugin.getConfigManager().getStorageType());
         try {
-            File dataFolder = plugin.getDataFolder();
-            if (!dataFolder.exists()) {
-                dataFolder.mkdirs();
+            opened.open();
+        } catch (StatsStorageException e) {
+            plugin.getLogger().severe(e.getMessage() + ": " + e.getCause().getMessage());
+            return;
+        }
+        storage = opened;
+        plugin.debug("Stats storage opened: %s", storage.getName());
+
+        // Apply stats left unsaved by the last shutdown before anything reads them
+        StatsRecovery recovery = new StatsRecovery(plugin);
+        replayRecovery(recovery);
+
+        // The write-behind writer starts once the leaderboards are built
+        writer = new StatsWriter(plugin, storage, recovery,
+                plugin.getConfigManager().getStatsBatchSize(),
+                plugin.getConfigManager().getStatsFlushInterval(),
+                plugin.getConfigManager().getMatchHistoryRetentionDays(),
+                plugin.getConfigManager().getStatsShutdownTimeout());
+        exporter = new StatsExporter(plugin, storage);
+
+        // Build the in-memory leaderboards before serving any other reads
+        if (storage.hasWindows()) {
+            long now = System.currentTimeMillis();
+            for (StatsWindow window : StatsWindow.values()) {
+                if (window.isWindowed()) {
+                    windowBoards.put(window, new WindowBoard(window.getBucket(now, plugin.getConfigManager()),
+                            new LeaderboardIndex()));
+                }
             }
+        }
+        loader.execute(this::buildLeaderboardIndex);
 
-            File dbFile = new File(dataFolder, "stats.db");
-            String url = "jdbc:sqlite:" + dbFile.getAbsolutePath();
-
-            connection = DriverManager.getConnection(url);
-            plugin.debug("Connected to SQLite database");
+        // Evict stats of players who have left, once written, and start new leaderboard windows on time
+        evictionTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            evictIdle();
+            rotateWindows();
+        }, EVICTION_INTERVAL, EVICTION_INTERVAL);
 
-            // Create table
-            try (Statement stmt = connection.createStatement()) {
-                stmt.execute(CREATE_TABLE);
-            }
+        // Players already online (e.g. after a reload) will not fire a join event
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            preload(player);
+        }
+    }
 
-            plugin.debug("Stats database initialized");
+    /**
+     * Writes stats saved for recovery at the last shutdown, in one batch,
+     * then deletes the recovery file. The file is kept if anything fails.
+     */
+    private void replayRecovery(StatsRecovery recovery) {
+        Collection<StatsDelta> deltas;
+        try {
+            deltas = recovery.load();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not read " + recovery.getFileName() + ", leaving it in place: "
+                    + e.getMessage());
+            return;
+        }
+        if (deltas.isEmpty()) return;
 
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to initialize stats database: " + e.getMessage());
+        try {
+            storage.upsert(deltas);
+            recovery.delete();
+            plugin.getLogger().info("Recovered stats for " + deltas.size() + " players from the last shutdown");
+        } catch (StatsStorageException e) {
+            plugin.getLogger().severe(e.getMessage() + ": " + e.getCause().getMessage()
+                    + "; " + recovery.getFileName() + " will be retried on next startup");
+        } catch (IOException e) {
+            // Already applied; applying it again would count it twice
+            plugin.getLogger().severe("Could not delete " + recovery.getFileName()
+                    + " after applying it; delete it before the next startup: " + e.getMessage());
         }
     }
 
     /**
-     * Closes the database connection.
+     * Creates the storage backend for a configured type.
+     */
+    private StatsStorage createStorage(String type) {
+        return switch (type.toLowerCase()) {
+            // Older configs listed yaml and mysql, but stats were always kept in SQLite
+            case "sqlite", "yaml", "mysql" -> new SqliteStatsStorage(plugin);
+            case "h2" -> new H2StatsStorage(plugin);
+            case "journal" -> new JournalStatsStorage(plugin);
+            default -> {
+                plugin.getLogger().warning("Unknown storage type '" + type + "', using sqlite");
+                yield new SqliteStatsStorage(plugin);
+            }
+        };
+    }
+
+    /**
+     * Drains pending writes and closes the storage backend.
      */
     public void shutdown() {
-        // Save all cached stats
-        for (PlayerStats stats : cache.values()) {
-            saveStatsSync(stats);
+        if (evictionTask != null) {
+            evictionTask.cancel();
+            evictionTask = null;
+        }
+
+        // An export would otherwise read from a closed storage
+        if (exporter != null) {
+            exporter.cancel();
         }
+
+        // Wait for the writer to drain queued deltas
+        boolean writerStopped = writer == null || writer.shutdown();
         cache.clear();
 
-        // Close connection
-        if (connection != null) {
-            try {
-                connection.close();
-                plugin.debug("Stats database connection closed");
-            } catch (SQLException e) {
-                plugin.getLogger().warning("Error closing database: " + e.getMessage());
+        // Let in-flight reads finish before closing the storage
+        loader.shutdown();
+        try {
+            loader.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (storage != null) {
+            if (writerStopped) {
+                storage.close();
+            } else {
+                // Closing or compacting under the writer could save its batch twice
+                storage.closeEarly();
             }
+            plugin.debug("Stats storage closed");
         }
     }
 
     /**
-     * Gets stats for a player, loading from database if needed.
+     * Gets stats for a player without blocking.
+     *
+     * @see #getStats(UUID, String)
      */
     public PlayerStats getStats(Player player) {
         return getStats(player.getUniqueId(), player.getName());
     }
 
     /**
-     * Gets stats for a UUID, loading from database if needed.
+     * Gets stats for a UUID without blocking.
+     * Stats are normally preloaded on join; if they are not, this starts
+     * loading them and returns empty stats meanwhile. Use
+     * {@link #getStatsAsync(UUID, String)} when the stored values matter.
      */
     public PlayerStats getStats(UUID uuid, String name) {
-        return cache.computeIfAbsent(uuid, id -> loadOrCreate(id, name));
+        PlayerStats stats = cache.get(uuid);
+        if (stats != null) return stats;
+
+        plugin.debug("Stats for %s were not preloaded; loading in the background", name);
+        load(uuid, name);
+        return new PlayerStats(uuid, name);
+    }
+
+    /**
+     * Gets stats for a player without blocking.
+     */
+    public CompletableFuture<PlayerStats> getStatsAsync(Player player) {
+        return getStatsAsync(player.getUniqueId(), player.getName());
+    }
+
+    /**
+     * Gets stats for a UUID without blocking.
+     * Completes immediately when cached; concurrent requests share one load.
+     */
+    public CompletableFuture<PlayerStats> getStatsAsync(UUID uuid, String name) {
+        PlayerStats cached = cache.get(uuid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return load(uuid, name);
+    }
+
+    /**
+     * Loads stats on the loader thread, sharing any load already in flight.
+     */
+    private CompletableFuture<PlayerStats> load(UUID uuid, String name) {
+        return loading.computeIfAbsent(uuid, id -> CompletableFuture
+                .supplyAsync(() -> {
+                    PlayerStats loaded = cache.peek(id);
+                    return loaded != null ? loaded : cache.putIfAbsent(loadOrCreate(id, name));
+                }, loader)
+                .whenComplete((stats, error) -> loading.remove(id)));
+    }
+
+    /**
+     * Gets stats by player name without blocking.
+     * Matches the last known name case-insensitively; the most recently
+     * active player wins if several share it.
+     *
+     * @return future completing with the stats, or null if no player matches
+     */
+    public CompletableFuture<PlayerStats> getStatsByNameAsync(String name) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (storage == null) return null;
+            checkNotMainThread("findByName");
+            try {
+                PlayerStats found = storage.findByName(name);
+                // Prefer the cached copy, which includes unwritten changes
+                return found != null ? cache.putIfAbsent(found) : null;
+            } catch (StatsStorageException e) {
+                plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+                return null;
+            }
+        }, loader);
+    }
+
+    /**
+     * Starts loading a player's stats in the background.
+     */
+    public void preload(Player player) {
+        getStatsAsync(player);
     }
 
     /**
      * Gets cached stats for a UUID.
      */
     public PlayerStats getCachedStats(UUID uuid) {
-        return cache.get(uuid);
+        return cache.peek(uuid);
+    }
+
+    /**
+     * Gets the stats cache, for its size and hit/miss/eviction counters.
+     */
+    public StatsCache getCache() {
+        return cache;
     }
 
     /**
@@ -135,190 +301,367 @@ public class StatsManager {
      * Loads stats synchronously.
      */
     private PlayerStats loadStatsSync(UUID uuid) {
-        if (connection == null) return null;
-
-        String sql = "SELECT * FROM player_stats WHERE uuid = ?";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, uuid.toString());
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    PlayerStats stats = new PlayerStats(uuid);
-                    stats.setLastKnownName(rs.getString("last_known_name"));
-                    stats.setGamesPlayed(rs.getInt("games_played"));
-                    stats.setGamesWon(rs.getInt("games_won"));
-                    stats.setGamesLost(rs.getInt("games_lost"));
-                    stats.setTimesAsProp(rs.getInt("times_as_prop"));
-                    stats.setPropSurvives(rs.getInt("prop_survives"));
-                    stats.setPropDeaths(rs.getInt("prop_deaths"));
-                    stats.setTotalTimeAsHiddenProp(rs.getLong("total_time_hidden"));
-                    stats.setSuccessfulTaunts(rs.getInt("successful_taunts"));
-                    stats.setTimesAsHunter(rs.getInt("times_as_hunter"));
-                    stats.setPropsFound(rs.getInt("props_found"));
-                    stats.setPropsKilled(rs.getInt("props_killed"));
-                    stats.setWrongHits(rs.getInt("wrong_hits"));
-                    stats.setHunterDeaths(rs.getInt("hunter_deaths"));
-                    stats.setTotalPoints(rs.getLong("total_points"));
-                    stats.setHighestGamePoints(rs.getInt("highest_game_points"));
-                    stats.setTotalPlayTime(rs.getLong("total_play_time"));
-                    stats.setFirstPlayed(rs.getLong("first_played"));
-                    stats.setLastPlayed(rs.getLong("last_played"));
-                    return stats;
-                }
+        if (storage == null) return null;
+        checkNotMainThread("loadStats");
+
+        try {
+            return storage.load(uuid);
+        } catch (StatsStorageException e) {
+            plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Records a finished game.
+     * Cached stats are updated immediately; the deltas and the match record
+     * are written by the background writer.
+     */
+    public void recordGame(Collection<StatsDelta> deltas, MatchRecord match) {
+        for (StatsDelta delta : deltas) {
+            PlayerStats cached = cache.peek(delta.getUuid());
+            if (cached != null) {
+                cached.apply(delta);
             }
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Error loading stats for " + uuid + ": " + e.getMessage());
+            leaderboardIndex.apply(delta);
+            applyToWindows(delta);
         }
 
-        return null;
+        if (writer != null) {
+            writer.enqueue(deltas);
+            writer.enqueueMatch(match);
+            writer.flush();
+        }
     }
 
     /**
-     * Saves stats asynchronously.
+     * Gets an arena's match totals over recent days.
+     *
+     * @return future completing with the totals, or null if the storage
+     *         backend keeps no match history
      */
-    public void saveStats(PlayerStats stats) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> saveStatsSync(stats));
+    public CompletableFuture<MatchRecord.Summary> getArenaSummary(String arena, int days) {
+        long since = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+        return CompletableFuture.supplyAsync(() -> {
+            if (storage == null) return null;
+            checkNotMainThread("getArenaSummary");
+            try {
+                return storage.getArenaSummary(arena, since);
+            } catch (StatsStorageException e) {
+                plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+                return null;
+            }
+        }, loader);
     }
 
     /**
-     * Saves stats synchronously.
+     * Asks the background writer to write queued stats now.
      */
-    private void saveStatsSync(PlayerStats stats) {
-        if (connection == null) return;
+    public void flush() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
 
-        String sql = """
-                INSERT OR REPLACE INTO player_stats (
-                    uuid, last_known_name, games_played, games_won, games_lost,
-                    times_as_prop, prop_survives, prop_deaths, total_time_hidden, successful_taunts,
-                    times_as_hunter, props_found, props_killed, wrong_hits, hunter_deaths,
-                    total_points, highest_game_points, total_play_time, first_played, last_played
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                """;
+    /**
+     * Exports all stored stats to a file in {@code exports/}, in the background.
+     *
+     * @param format the file format
+     * @return future completing with the written file
+     */
+    public CompletableFuture<File> exportStats(StatsExporter.Format format) {
+        if (exporter == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Stats storage is not available"));
+        }
+        return exporter.export(format, plugin.getConfigManager().getStatsExportRate());
+    }
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, stats.getUuid().toString());
-            stmt.setString(2, stats.getLastKnownName());
-            stmt.setInt(3, stats.getGamesPlayed());
-            stmt.setInt(4, stats.getGamesWon());
-            stmt.setInt(5, stats.getGamesLost());
-            stmt.setInt(6, stats.getTimesAsProp());
-            stmt.setInt(7, stats.getPropSurvives());
-            stmt.setInt(8, stats.getPropDeaths());
-            stmt.setLong(9, stats.getTotalTimeAsHiddenProp());
-            stmt.setInt(10, stats.getSuccessfulTaunts());
-            stmt.setInt(11, stats.getTimesAsHunter());
-            stmt.setInt(12, stats.getPropsFound());
-            stmt.setInt(13, stats.getPropsKilled());
-            stmt.setInt(14, stats.getWrongHits());
-            stmt.setInt(15, stats.getHunterDeaths());
-            stmt.setLong(16, stats.getTotalPoints());
-            stmt.setInt(17, stats.getHighestGamePoints());
-            stmt.setLong(18, stats.getTotalPlayTime());
-            stmt.setLong(19, stats.getFirstPlayed());
-            stmt.setLong(20, stats.getLastPlayed());
+    /**
+     * Gets the storage backend.
+     *
+     * @return the backend, or null if it failed to open
+     */
+    public StatsStorage getStorage() {
+        return storage;
+    }
 
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Error saving stats for " + stats.getUuid() + ": " + e.getMessage());
-        }
+    /**
+     * Gets the background stats writer.
+     *
+     * @return the writer, or null if storage failed to open
+     */
+    public StatsWriter getWriter() {
+        return writer;
     }
 
     /**
      * Gets the top players by a stat.
      */
     public CompletableFuture<List<PlayerStats>> getTopPlayers(StatType statType, int limit) {
-        return CompletableFuture.supplyAsync(() -> getTopPlayersSync(statType, limit));
+        if (leaderboardIndex.isReady()) {
+            return CompletableFuture.completedFuture(leaderboardIndex.getTop(statType, limit));
+        }
+        return CompletableFuture.supplyAsync(() -> getTopPlayersSync(statType, limit), loader);
     }
 
     /**
      * Gets top players synchronously.
      */
     private List<PlayerStats> getTopPlayersSync(StatType statType, int limit) {
-        if (connection == null) return List.of();
-
-        String column = statType.getColumn();
-        String sql = "SELECT * FROM player_stats ORDER BY " + column + " DESC LIMIT ?";
-
-        List<PlayerStats> results = new ArrayList<>();
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, limit);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    UUID uuid = UUID.fromString(rs.getString("uuid"));
-                    PlayerStats stats = new PlayerStats(uuid);
-                    stats.setLastKnownName(rs.getString("last_known_name"));
-                    stats.setGamesPlayed(rs.getInt("games_played"));
-                    stats.setGamesWon(rs.getInt("games_won"));
-                    stats.setGamesLost(rs.getInt("games_lost"));
-                    stats.setTimesAsProp(rs.getInt("times_as_prop"));
-                    stats.setPropSurvives(rs.getInt("prop_survives"));
-                    stats.setPropDeaths(rs.getInt("prop_deaths"));
-                    stats.setTotalTimeAsHiddenProp(rs.getLong("total_time_hidden"));
-                    stats.setSuccessfulTaunts(rs.getInt("successful_taunts"));
-                    stats.setTimesAsHunter(rs.getInt("times_as_hunter"));
-                    stats.setPropsFound(rs.getInt("props_found"));
-                    stats.setPropsKilled(rs.getInt("props_killed"));
-                    stats.setWrongHits(rs.getInt("wrong_hits"));
-                    stats.setHunterDeaths(rs.getInt("hunter_deaths"));
-                    stats.setTotalPoints(rs.getLong("total_points"));
-                    stats.setHighestGamePoints(rs.getInt("highest_game_points"));
-                    stats.setTotalPlayTime(rs.getLong("total_play_time"));
-                    stats.setFirstPlayed(rs.getLong("first_played"));
-                    stats.setLastPlayed(rs.getLong("last_played"));
-                    results.add(stats);
-                }
+        if (storage == null) return List.of();
+        checkNotMainThread("getTopPlayers");
+
+        try {
+            return storage.getTop(statType, limit);
+        } catch (StatsStorageException e) {
+            plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Gets the top players by a stat within a leaderboard window.
+     * Windowed entries carry the player's name and leaderboard stats only.
+     *
+     * @param statType the stat
+     * @param window the window
+     * @param limit maximum entries
+     * @return future completing with players in descending order; empty if
+     *         the storage backend keeps no windowed stats
+     */
+    public CompletableFuture<List<PlayerStats>> getTopPlayers(StatType statType, StatsWindow window, int limit) {
+        if (!window.isWindowed()) {
+            return getTopPlayers(statType, limit);
+        }
+
+        WindowBoard board = getWindowBoard(window);
+        if (board == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        if (board.index.isReady()) {
+            return CompletableFuture.completedFuture(board.index.getTop(statType, limit));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            checkNotMainThread("getWindowTop");
+            try {
+                return storage.getWindowTop(statType, window, board.bucket, limit);
+            } catch (StatsStorageException e) {
+                plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+                return List.of();
             }
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Error getting top players: " + e.getMessage());
+        }, loader);
+    }
+
+    /**
+     * Gets a player's rank for a stat within a leaderboard window.
+     *
+     * @param uuid the player's UUID
+     * @param statType the stat
+     * @param window the window
+     * @return future completing with the 1-based rank, or -1 if unknown
+     */
+    public CompletableFuture<Integer> getPlayerRank(UUID uuid, StatType statType, StatsWindow window) {
+        if (!window.isWindowed()) {
+            return getPlayerRank(uuid, statType);
         }
 
-        return results;
+        WindowBoard board = getWindowBoard(window);
+        if (board == null || !board.index.isReady()) {
+            return CompletableFuture.completedFuture(-1);
+        }
+        return CompletableFuture.completedFuture(board.index.getRank(uuid, statType));
     }
 
     /**
      * Gets a player's rank for a stat.
      */
     public CompletableFuture<Integer> getPlayerRank(UUID uuid, StatType statType) {
-        return CompletableFuture.supplyAsync(() -> getPlayerRankSync(uuid, statType));
+        if (leaderboardIndex.isReady()) {
+            return CompletableFuture.completedFuture(leaderboardIndex.getRank(uuid, statType));
+        }
+        return CompletableFuture.supplyAsync(() -> getPlayerRankSync(uuid, statType), loader);
     }
 
     /**
      * Gets player rank synchronously.
      */
     private int getPlayerRankSync(UUID uuid, StatType statType) {
-        if (connection == null) return -1;
+        if (storage == null) return -1;
+        checkNotMainThread("getPlayerRank");
+
+        try {
+            return storage.getRank(uuid, statType);
+        } catch (StatsStorageException e) {
+            plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Streams all stored stats into the leaderboard indexes, then starts
+     * the writer. Runs once on the loader thread at startup; until it
+     * finishes, leaderboard queries fall back to the storage backend and
+     * finished games stay queued, so the stream never sees a game the
+     * indexes also replay from their buffers.
+     */
+    private void buildLeaderboardIndex() {
+        try {
+            streamLeaderboards();
+        } finally {
+            writer.start();
+        }
+    }
 
-        String column = statType.getColumn();
-        String sql = """
-                SELECT COUNT(*) + 1 as rank FROM player_stats
-                WHERE %s > (SELECT %s FROM player_stats WHERE uuid = ?)
-                """.formatted(column, column);
+    /**
+     * Streams all stored stats into the leaderboard indexes.
+     */
+    private void streamLeaderboards() {
+        checkNotMainThread("buildLeaderboardIndex");
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, uuid.toString());
+        long start = System.currentTimeMillis();
+        try {
+            storage.streamAll(stats -> leaderboardIndex.load(stats.getUuid(), stats.getLastKnownName(),
+                    getLeaderboardValues(stats)));
+            leaderboardIndex.markReady();
+            plugin.debug("Leaderboard index built with %d players in %dms",
+                    leaderboardIndex.size(), System.currentTimeMillis() - start);
+        } catch (StatsStorageException e) {
+            plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+            leaderboardIndex.abandon();
+        }
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("rank");
-                }
+        for (Map.Entry<StatsWindow, WindowBoard> entry : windowBoards.entrySet()) {
+            WindowBoard board = entry.getValue();
+            try {
+                storage.streamWindow(entry.getKey(), board.bucket, stats -> board.index.load(stats.getUuid(),
+                        stats.getLastKnownName(), getLeaderboardValues(stats)));
+                board.index.markReady();
+            } catch (StatsStorageException e) {
+                plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+                board.index.abandon();
             }
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Error getting player rank: " + e.getMessage());
         }
+    }
 
-        return -1;
+    /**
+     * Gets a player's value for each stat type, in {@link StatType} order.
+     */
+    private static long[] getLeaderboardValues(PlayerStats stats) {
+        StatType[] types = StatType.values();
+        long[] values = new long[types.length];
+        for (int i = 0; i < types.length; i++) {
+            values[i] = types[i].getValue(stats);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the current board for a leaderboard window, starting a new,
+     * empty one if the window has moved on to a new bucket.
+     *
+     * @return the board, or null if the storage backend keeps no windowed stats
+     */
+    private WindowBoard getWindowBoard(StatsWindow window) {
+        long bucket = window.getBucket(System.currentTimeMillis(), plugin.getConfigManager());
+        return windowBoards.computeIfPresent(window, (w, board) -> {
+            if (board.bucket == bucket) return board;
+            LeaderboardIndex index = new LeaderboardIndex();
+            index.markReady(); // Nothing can be stored for a bucket that has just started
+            return new WindowBoard(bucket, index);
+        });
     }
 
     /**
-     * Removes a player from cache.
+     * Applies a delta to the current board of each leaderboard window.
+     */
+    private void applyToWindows(StatsDelta delta) {
+        for (StatsWindow window : windowBoards.keySet()) {
+            WindowBoard board = getWindowBoard(window);
+            if (board != null && board.bucket == window.getBucket(delta.getPlayedAt(), plugin.getConfigManager())) {
+                board.index.apply(delta);
+            }
+        }
+    }
+
+    /**
+     * Starts new boards for leaderboard windows whose bucket has ended.
+     */
+    private void rotateWindows() {
+        for (StatsWindow window : windowBoards.keySet()) {
+            getWindowBoard(window);
+        }
+    }
+
+    /**
+     * Checks if daily, weekly and season leaderboards are available.
+     *
+     * @return true if the storage backend keeps windowed stats
+     */
+    public boolean hasWindows() {
+        return !windowBoards.isEmpty();
+    }
+
+    /**
+     * Gets the in-memory leaderboard index.
+     */
+    public LeaderboardIndex getLeaderboardIndex() {
+        return leaderboardIndex;
+    }
+
+    /**
+     * Flags database access from the server thread when debug mode is enabled.
+     *
+     * @param operation the operation being performed
+     */
+    void checkNotMainThread(String operation) {
+        if (plugin.getConfigManager().isDebug() && Bukkit.isPrimaryThread()) {
+            plugin.getLogger().log(Level.WARNING, "[DEBUG] Stats " + operation + " ran on the server thread",
+                    new IllegalStateException("JDBC call on server thread"));
+        }
+    }
+
+    /**
+     * Marks a player's stats as evictable when they leave the server.
+     * The entry stays cached until its writes finish and it has sat idle.
      */
     public void unloadPlayer(UUID uuid) {
-        PlayerStats stats = cache.remove(uuid);
-        if (stats != null) {
-            saveStats(stats);
+        cache.markOffline(uuid);
+    }
+
+    /**
+     * Evicts stats of offline players that are idle or over the size limit.
+     * Entries with deltas still queued are kept until a later pass.
+     */
+    private void evictIdle() {
+        int maxSize = plugin.getConfigManager().getStatsCacheMaxSize();
+        long idleMillis = TimeUnit.SECONDS.toMillis(plugin.getConfigManager().getStatsCacheIdleTime());
+
+        cache.refreshOnline(uuid -> plugin.getServer().getPlayer(uuid) != null);
+
+        int evicted = 0;
+        for (StatsCache.Entry entry : cache.findEvictable(maxSize, idleMillis)) {
+            if (writer == null || !writer.isPending(entry.stats.getUuid())) {
+                cache.evict(entry);
+                evicted++;
+            }
+        }
+
+        if (evicted > 0) {
+            plugin.debug("Evicted %d stats entries (cache size %d, hits %d, misses %d)",
+                    evicted, cache.size(), cache.getHits(), cache.getMisses());
+        }
+    }
+
+    /**
+     * The in-memory leaderboards for one bucket of a window.
+     */
+    private static final class WindowBoard {
+        private final long bucket;
+        private final LeaderboardIndex index;
+
+        WindowBoard(long bucket, LeaderboardIndex index) {
+            this.bucket = bucket;
+            this.index = index;
         }
     }
 
@@ -350,5 +693,55 @@ public class StatsManager {
         public String getDisplayName() {
             return displayName;
         }
+
+        /**
+         * Gets this stat's value from a player's stats.
+         *
+         * @param stats the stats
+         * @return the value
+         */
+        public long getValue(PlayerStats stats) {
+            return switch (this) {
+                case GAMES_PLAYED -> stats.getGamesPlayed();
+                case GAMES_WON -> stats.getGamesWon();
+                case TOTAL_POINTS -> stats.getTotalPoints();
+                case PROPS_KILLED -> stats.getPropsKilled();
+                case PROPS_FOUND -> stats.getPropsFound();
+                case PROP_SURVIVES -> stats.getPropSurvives();
+                case HIGHEST_GAME_POINTS -> stats.getHighestGamePoints();
+                case TOTAL_PLAY_TIME -> stats.getTotalPlayTime();
+            };
+        }
+
+        /**
+         * Gets this stat's change in a delta. For the highest game score
+         * this is the game's score, which replaces a lower stored value.
+         *
+         * @param delta the delta
+         * @return the change
+         */
+        public long getIncrement(StatsDelta delta) {
+            return switch (this) {
+                case GAMES_PLAYED -> delta.getGamesPlayed();
+                case GAMES_WON -> delta.getGamesWon();
+                case TOTAL_POINTS -> delta.getPoints();
+                case PROPS_KILLED -> delta.getPropsKilled();
+                case PROPS_FOUND -> delta.getPropsFound();
+                case PROP_SURVIVES -> delta.getPropSurvives();
+                case HIGHEST_GAME_POINTS -> delta.getHighestGamePoints();
+                case TOTAL_PLAY_TIME -> delta.getPlayTime();
+            };
+        }
+
+        /**
+         * Applies a change from {@link #getIncrement(StatsDelta)} to a value.
+         *
+         * @param current the current value
+         * @param increment the change
+         * @return the new value
+         */
+        public long apply(long current, long increment) {
+            return this == HIGHEST_GAME_POINTS ? Math.max(current, increment) : current + increment;
+        }
     }
 }
@@ -0,0 +1,115 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Recovery file for stats the writer could not save before shutdown,
+ * {@code stats-recovery.dat}. Written in one piece, checksummed and swapped
+ * in atomically, so a crash leaves either the old file or the new one.
+ * The deltas are applied on the next startup and the file is deleted.
+ */
+public class StatsRecovery {
+
+    private static final int MAGIC = 0x50485256; // "PHRV"
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path path;
+
+    public StatsRecovery(PropHuntPlugin plugin) {
+        this.path = new File(plugin.getDataFolder(), "stats-recovery.dat").toPath();
+    }
+
+    /**
+     * Replaces the file with the given deltas, or deletes it if there are none.
+     *
+     * @param deltas the unsaved deltas; several may be for the same player
+     * @throws IOException if writing fails
+     */
+    public void save(Collection<StatsDelta> deltas) throws IOException {
+        if (deltas.isEmpty()) {
+            delete();
+            return;
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(deltas.size());
+            for (StatsDelta delta : deltas) {
+                delta.writeTo(out);
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the saved deltas, merged to one per player.
+     *
+     * @return the deltas, empty if there is no file
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    public Collection<StatsDelta> load() throws IOException {
+        if (!Files.exists(path)) {
+            return Collections.emptyList();
+        }
+
+        Map<UUID, StatsDelta> merged = new LinkedHashMap<>();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path))) {
+            CheckedInputStream checked = new CheckedInputStream(file, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a stats recovery file");
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                StatsDelta delta = StatsDelta.readFrom(in);
+                StatsDelta existing = merged.get(delta.getUuid());
+                if (existing != null) {
+                    existing.merge(delta);
+                } else {
+                    merged.put(delta.getUuid(), delta);
+                }
+            }
+
+            int expected = (int) checked.getChecksum().getValue();
+            if (new DataInputStream(file).readInt() != expected) {
+                throw new IOException("Checksum mismatch");
+            }
+        } catch (EOFException e) {
+            throw new IOException("File is truncated", e);
+        }
+        return merged.values();
+    }
+
+    /**
+     * Deletes the file, if present.
+     *
+     * @throws IOException if deleting fails
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Gets the file name, for log messages.
+     *
+     * @return the file name
+     */
+    public String getFileName() {
+        return path.getFileName().toString();
+    }
+}
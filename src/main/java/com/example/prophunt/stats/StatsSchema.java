@@ -0,0 +1,191 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+import com.example.prophunt.config.ConfigManager;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Creates and migrates the SQLite stats schema.
+ * The schema version is kept in SQLite's {@code user_version}; each
+ * migration runs once, in its own transaction.
+ */
+public final class StatsSchema {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS player_stats (
+                uuid TEXT PRIMARY KEY,
+                last_known_name TEXT,
+                games_played INTEGER DEFAULT 0,
+                games_won INTEGER DEFAULT 0,
+                games_lost INTEGER DEFAULT 0,
+                times_as_prop INTEGER DEFAULT 0,
+                prop_survives INTEGER DEFAULT 0,
+                prop_deaths INTEGER DEFAULT 0,
+                total_time_hidden INTEGER DEFAULT 0,
+                successful_taunts INTEGER DEFAULT 0,
+                times_as_hunter INTEGER DEFAULT 0,
+                props_found INTEGER DEFAULT 0,
+                props_killed INTEGER DEFAULT 0,
+                wrong_hits INTEGER DEFAULT 0,
+                hunter_deaths INTEGER DEFAULT 0,
+                total_points INTEGER DEFAULT 0,
+                highest_game_points INTEGER DEFAULT 0,
+                total_play_time INTEGER DEFAULT 0,
+                first_played INTEGER,
+                last_played INTEGER
+            )
+            """;
+
+    private StatsSchema() {
+    }
+
+    /**
+     * Brings the schema up to the latest version.
+     *
+     * @param plugin the plugin
+     * @param connection an open connection
+     * @throws SQLException if a migration fails
+     */
+    public static void migrate(PropHuntPlugin plugin, Connection connection) throws SQLException {
+        List<String[]> migrations = migrations();
+        int version = getVersion(connection);
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            while (version < migrations.size()) {
+                try (Statement stmt = connection.createStatement()) {
+                    for (String sql : migrations.get(version)) {
+                        stmt.execute(sql);
+                    }
+                    version++;
+                    stmt.execute("PRAGMA user_version = " + version);
+                }
+                connection.commit();
+                plugin.debug("Migrated stats database to version %d", version);
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Gets the migrations, in order. Index {@code n} upgrades version
+     * {@code n} to {@code n + 1}; never edit or reorder released entries.
+     */
+    private static List<String[]> migrations() {
+        List<String[]> migrations = new ArrayList<>();
+
+        // 1: initial table
+        migrations.add(new String[] {CREATE_TABLE});
+
+        // 2: leaderboard and name lookup indexes
+        List<String> indexes = new ArrayList<>();
+        for (StatsManager.StatType type : StatsManager.StatType.values()) {
+            String column = type.getColumn();
+            indexes.add("CREATE INDEX IF NOT EXISTS idx_player_stats_" + column
+                    + " ON player_stats (" + column + " DESC)");
+        }
+        indexes.add("CREATE INDEX IF NOT EXISTS idx_player_stats_name"
+                + " ON player_stats (last_known_name COLLATE NOCASE)");
+        migrations.add(indexes.toArray(new String[0]));
+
+        // 3: match history and its daily rollup
+        migrations.add(new String[] {
+                """
+                CREATE TABLE IF NOT EXISTS match_history (
+                    id INTEGER PRIMARY KEY,
+                    arena TEXT NOT NULL,
+                    started_at INTEGER NOT NULL,
+                    duration INTEGER NOT NULL,
+                    winner TEXT,
+                    players INTEGER NOT NULL
+                )
+                """,
+                "CREATE INDEX IF NOT EXISTS idx_match_history_arena ON match_history (arena, started_at)",
+                "CREATE INDEX IF NOT EXISTS idx_match_history_started ON match_history (started_at)",
+                """
+                CREATE TABLE IF NOT EXISTS match_players (
+                    match_id INTEGER NOT NULL,
+                    uuid TEXT NOT NULL,
+                    team TEXT NOT NULL,
+                    points INTEGER NOT NULL,
+                    hits INTEGER NOT NULL,
+                    survival INTEGER NOT NULL,
+                    PRIMARY KEY (match_id, uuid)
+                ) WITHOUT ROWID
+                """,
+                """
+                CREATE TABLE IF NOT EXISTS match_daily (
+                    arena TEXT NOT NULL,
+                    match_day INTEGER NOT NULL,
+                    matches INTEGER NOT NULL,
+                    prop_wins INTEGER NOT NULL,
+                    hunter_wins INTEGER NOT NULL,
+                    total_duration INTEGER NOT NULL,
+                    total_players INTEGER NOT NULL,
+                    PRIMARY KEY (arena, match_day)
+                ) WITHOUT ROWID
+                """
+        });
+
+        // 4: per-bucket totals for daily, weekly and season leaderboards
+        migrations.add(new String[] {
+                """
+                CREATE TABLE IF NOT EXISTS stats_window (
+                    window_id INTEGER NOT NULL,
+                    bucket INTEGER NOT NULL,
+                    uuid TEXT NOT NULL,
+                    last_known_name TEXT,
+                    games_played INTEGER NOT NULL DEFAULT 0,
+                    games_won INTEGER NOT NULL DEFAULT 0,
+                    total_points INTEGER NOT NULL DEFAULT 0,
+                    props_killed INTEGER NOT NULL DEFAULT 0,
+                    props_found INTEGER NOT NULL DEFAULT 0,
+                    prop_survives INTEGER NOT NULL DEFAULT 0,
+                    highest_game_points INTEGER NOT NULL DEFAULT 0,
+                    total_play_time INTEGER NOT NULL DEFAULT 0,
+                    PRIMARY KEY (window_id, bucket, uuid)
+                ) WITHOUT ROWID
+                """
+        });
+
+        return migrations;
+    }
+
+    /**
+     * Gets the stored schema version.
+     */
+    private static int getVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Applies the connection tuning pragmas.
+     * WAL lets the loader read while the writer commits; with WAL,
+     * {@code synchronous=NORMAL} only risks the last commits on power loss,
+     * never corruption.
+     *
+     * @param connection the connection
+     * @param config the configuration
+     * @throws SQLException if a pragma fails
+     */
+    public static void applyPragmas(Connection connection, ConfigManager config) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = NORMAL");
+            stmt.execute("PRAGMA busy_timeout = 5000");
+            stmt.execute("PRAGMA temp_store = MEMORY");
+            stmt.execute("PRAGMA cache_size = -" + config.getStatsSqliteCacheSize()); // Negative means KiB
+            stmt.execute("PRAGMA mmap_size = " + config.getStatsSqliteMmapSize() * 1024L * 1024L);
+        }
+    }
+}
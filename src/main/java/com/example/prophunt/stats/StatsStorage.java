@@ -0,0 +1,188 @@
+package com.example.prophunt.stats;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Persistence backend for player statistics.
+ * Reads are only issued from the stats loader thread and writes only from
+ * the {@link StatsWriter} thread, so an implementation never sees two reads
+ * or two writes at once, but must allow a read alongside a write. The one
+ * exception is {@link #streamAll(Consumer)}, which may also run on its own
+ * thread alongside both.
+ * Returned stats belong to the caller.
+ */
+public interface StatsStorage {
+
+    /**
+     * Gets the backend name shown to admins.
+     *
+     * @return backend name
+     */
+    String getName();
+
+    /**
+     * Opens the backend, creating or upgrading its data as needed.
+     *
+     * @throws StatsStorageException if the backend cannot be opened
+     */
+    void open() throws StatsStorageException;
+
+    /**
+     * Closes the backend. Called after the writer has drained.
+     */
+    void close();
+
+    /**
+     * Closes the backend while the writer thread may still be writing,
+     * after it missed the shutdown deadline. Whatever that write is using
+     * is left alone, or closed so that the write fails as a whole; its
+     * batch is already in the recovery file.
+     */
+    void closeEarly();
+
+    /**
+     * Loads a player's stats.
+     *
+     * @param uuid the player's UUID
+     * @return the stats, or null if the player has none
+     * @throws StatsStorageException if the read fails
+     */
+    PlayerStats load(UUID uuid) throws StatsStorageException;
+
+    /**
+     * Finds a player's stats by last known name, ignoring case.
+     * The most recently active player wins if several share the name.
+     *
+     * @param name the name
+     * @return the stats, or null if no player matches
+     * @throws StatsStorageException if the read fails
+     */
+    PlayerStats findByName(String name) throws StatsStorageException;
+
+    /**
+     * Adds a batch of deltas, atomically. Backends with windowed stats also
+     * add each delta to the bucket of every {@link StatsWindow} its play
+     * time falls into.
+     *
+     * @param batch the deltas, at most one per player
+     * @throws StatsStorageException if the write fails; nothing is written
+     */
+    void upsert(Collection<StatsDelta> batch) throws StatsStorageException;
+
+    /**
+     * Gets the top players by a stat.
+     *
+     * @param statType the stat
+     * @param limit maximum entries
+     * @return players in descending order
+     * @throws StatsStorageException if the read fails
+     */
+    List<PlayerStats> getTop(StatsManager.StatType statType, int limit) throws StatsStorageException;
+
+    /**
+     * Gets a player's rank for a stat.
+     *
+     * @param uuid the player's UUID
+     * @param statType the stat
+     * @return 1-based rank, or -1 if unknown
+     * @throws StatsStorageException if the read fails
+     */
+    int getRank(UUID uuid, StatsManager.StatType statType) throws StatsStorageException;
+
+    /**
+     * Passes every stored player's stats to a consumer, without loading
+     * them all at once. The consumer may be slow; other reads and writes
+     * carry on meanwhile, and rows they change may or may not be seen.
+     *
+     * @param consumer receives each player's stats
+     * @throws StatsStorageException if the read fails
+     */
+    void streamAll(Consumer<PlayerStats> consumer) throws StatsStorageException;
+
+    /**
+     * Checks if the backend keeps windowed stats for daily, weekly and
+     * season leaderboards.
+     *
+     * @return true if windowed stats are kept
+     */
+    default boolean hasWindows() {
+        return false;
+    }
+
+    /**
+     * Passes the windowed stats of every player in a bucket to a consumer.
+     * Only leaderboard stats are filled in.
+     *
+     * @param window the window
+     * @param bucket the bucket
+     * @param consumer receives each player's stats
+     * @throws StatsStorageException if the read fails
+     */
+    default void streamWindow(StatsWindow window, long bucket, Consumer<PlayerStats> consumer)
+            throws StatsStorageException {
+    }
+
+    /**
+     * Gets the top players by a stat within a bucket.
+     * Only leaderboard stats are filled in.
+     *
+     * @param statType the stat
+     * @param window the window
+     * @param bucket the bucket
+     * @param limit maximum entries
+     * @return players in descending order
+     * @throws StatsStorageException if the read fails
+     */
+    default List<PlayerStats> getWindowTop(StatsManager.StatType statType, StatsWindow window, long bucket,
+                                           int limit) throws StatsStorageException {
+        return List.of();
+    }
+
+    /**
+     * Deletes a window's buckets before a given one.
+     *
+     * @param window the window
+     * @param before the first bucket to keep
+     * @return number of rows deleted
+     * @throws StatsStorageException if the write fails; nothing is changed
+     */
+    default int expireWindows(StatsWindow window, long before) throws StatsStorageException {
+        return 0;
+    }
+
+    /**
+     * Adds finished matches to match history, atomically.
+     * Backends without match history ignore them.
+     *
+     * @param matches the matches
+     * @throws StatsStorageException if the write fails; nothing is written
+     */
+    default void insertMatches(Collection<MatchRecord> matches) throws StatsStorageException {
+    }
+
+    /**
+     * Folds matches started before a cutoff into daily per-arena totals,
+     * then deletes them and their player rows.
+     *
+     * @param before cutoff time in epoch milliseconds
+     * @return number of matches rolled up
+     * @throws StatsStorageException if the write fails; nothing is changed
+     */
+    default int rollUpMatches(long before) throws StatsStorageException {
+        return 0;
+    }
+
+    /**
+     * Gets an arena's match totals since a time.
+     * Rolled-up days are counted whole.
+     *
+     * @param arena the arena name
+     * @param since start time in epoch milliseconds
+     * @return the totals, or null if the backend keeps no match history
+     * @throws StatsStorageException if the read fails
+     */
+    default MatchRecord.Summary getArenaSummary(String arena, long since) throws StatsStorageException {
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.prophunt.stats;
+
+/**
+ * Thrown when a stats storage backend fails to read or write.
+ */
+public class StatsStorageException extends Exception {
+
+    public StatsStorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.config.ConfigManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time windows a leaderboard can cover.
+ * Windowed stats are kept per bucket (a day, a week or a season), numbered
+ * from the epoch in UTC; only the current bucket is ranked.
+ */
+public enum StatsWindow {
+    LIFETIME(0, "All Time"),
+    DAILY(1, "Today"),
+    WEEKLY(2, "This Week"),
+    SEASON(3, "This Season");
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final int id;
+    private final String displayName;
+
+    StatsWindow(int id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the id stored in the database. Never change a released id.
+     *
+     * @return the id
+     */
+    public int getId() {
+        return id;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Checks if stats for this window are kept in buckets.
+     *
+     * @return false for the lifetime window
+     */
+    public boolean isWindowed() {
+        return this != LIFETIME;
+    }
+
+    /**
+     * Gets the bucket a time falls into.
+     *
+     * @param time epoch milliseconds
+     * @param config the configuration, for the season calendar
+     * @return the bucket number; always 0 for the lifetime window
+     */
+    public long getBucket(long time, ConfigManager config) {
+        long day = Math.floorDiv(time, DAY_MILLIS);
+        return switch (this) {
+            case LIFETIME -> 0;
+            case DAILY -> day;
+            case WEEKLY -> Math.floorDiv(day + 3, 7); // Weeks start on Monday; day 0 was a Thursday
+            case SEASON -> Math.floorDiv(day - config.getSeasonStartDay(), config.getSeasonLength());
+        };
+    }
+
+    /**
+     * Gets a window by name, ignoring case.
+     *
+     * @param name the name, e.g. "daily" or "week"
+     * @return the window, or null if unknown
+     */
+    public static StatsWindow fromString(String name) {
+        return switch (name.toLowerCase()) {
+            case "lifetime", "all", "alltime" -> LIFETIME;
+            case "daily", "day", "today" -> DAILY;
+            case "weekly", "week" -> WEEKLY;
+            case "season" -> SEASON;
+            default -> null;
+        };
+    }
+}
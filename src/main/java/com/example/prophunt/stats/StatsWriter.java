@@ -0,0 +1,455 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for player statistics.
+ * A single writer thread passes queued deltas to the {@link StatsStorage} in
+ * batches, each written atomically as increments. Deltas for the same player
+ * queued before a flush are merged into one update. Finished matches are
+ * queued alongside; old match history and expired leaderboard windows are
+ * cleaned up from the same thread.
+ * A failed batch is requeued and retried after a delay that doubles with
+ * each consecutive failure; so are failed matches, up to a limit. On
+ * shutdown everything queued is written in one last batch; stats not saved
+ * by the deadline, or that fail, go to the {@link StatsRecovery} file
+ * instead. Match history is best-effort: matches unsaved at that point
+ * are logged and dropped.
+ */
+public class StatsWriter {
+
+    private static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+    private static final long MAINTENANCE_INTERVAL = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final long MIN_RETRY_DELAY = TimeUnit.SECONDS.toMillis(1);
+    private static final long MAX_RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+    private static final int MAX_QUEUED_MATCHES = 1000; // Oldest failed matches are dropped past this
+
+    private final PropHuntPlugin plugin;
+    private final StatsStorage storage;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int retentionDays;
+    private final long shutdownTimeoutMs;
+    private final StatsRecovery recovery;
+
+    private final Object lock = new Object();
+    private Map<UUID, StatsDelta> pending; // guarded by lock
+    private Map<UUID, StatsDelta> writing; // guarded by lock, batch being written
+    private List<MatchRecord> pendingMatches; // guarded by lock
+    private boolean flushRequested;         // guarded by lock
+    private boolean running;                // guarded by lock
+    private boolean abandoned;              // guarded by lock, shutdown deadline passed
+    private Collection<StatsDelta> recovered; // guarded by lock, queued deltas saved for recovery
+
+    private Thread thread; // guarded by lock
+    private long nextMaintenance; // writer thread only
+    private long retryAt;         // writer thread only, 0 unless backing off after a failure
+    private int failures;         // writer thread only, consecutive failed batches
+
+    private volatile long totalWritten;
+    private volatile long totalMerged;
+
+    public StatsWriter(PropHuntPlugin plugin, StatsStorage storage, StatsRecovery recovery, int batchSize,
+                       int flushIntervalSeconds, int retentionDays, int shutdownTimeoutSeconds) {
+        this.plugin = plugin;
+        this.storage = storage;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = TimeUnit.SECONDS.toMillis(flushIntervalSeconds);
+        this.retentionDays = retentionDays;
+        this.shutdownTimeoutMs = TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds);
+        this.recovery = recovery;
+        this.pending = new LinkedHashMap<>();
+        this.pendingMatches = new ArrayList<>();
+    }
+
+    /**
+     * Starts the writer thread. Does nothing if it was already started,
+     * even if it has since been shut down.
+     */
+    public void start() {
+        synchronized (lock) {
+            if (thread != null) return;
+            running = true;
+            thread = new Thread(this::run, "PropHunt-StatsWriter");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Queues deltas to be written, merging with any already queued.
+     * The writer takes ownership of the deltas.
+     *
+     * @param deltas the deltas to write
+     */
+    public void enqueue(Collection<StatsDelta> deltas) {
+        synchronized (lock) {
+            for (StatsDelta delta : deltas) {
+                StatsDelta queued = pending.get(delta.getUuid());
+                if (queued != null) {
+                    queued.merge(delta);
+                    totalMerged++;
+                } else {
+                    pending.put(delta.getUuid(), delta);
+                }
+            }
+            if (pending.size() >= batchSize) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Queues a finished match for match history.
+     *
+     * @param match the match
+     */
+    public void enqueueMatch(MatchRecord match) {
+        synchronized (lock) {
+            pendingMatches.add(match);
+        }
+    }
+
+    /**
+     * Asks the writer to flush queued stats without waiting for the interval.
+     */
+    public void flush() {
+        synchronized (lock) {
+            flushRequested = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Stops the writer, writing everything still queued in one batch.
+     * Blocks until the queue is drained or the shutdown timeout expires;
+     * anything not written by then is saved for recovery on next startup.
+     *
+     * @return true if the writer thread has stopped; false if it is still
+     *         writing and the storage must not be closed under it
+     */
+    public boolean shutdown() {
+        start(); // A writer not started yet still drains what was queued
+        int queued;
+        synchronized (lock) {
+            if (!running) return !thread.isAlive();
+            running = false;
+            queued = pending.size() + (writing != null ? writing.size() : 0);
+            lock.notifyAll();
+        }
+
+        if (queued > 0) {
+            plugin.getLogger().info("Saving stats for " + queued + " players in one batch...");
+        }
+
+        long start = System.currentTimeMillis();
+        long deadline = start + shutdownTimeoutMs;
+        try {
+            while (thread.isAlive()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) break;
+                thread.join(Math.min(remaining, PROGRESS_INTERVAL));
+                if (thread.isAlive() && System.currentTimeMillis() < deadline) {
+                    plugin.getLogger().info("Still saving stats, "
+                            + (deadline - System.currentTimeMillis()) / 1000 + "s until they are set aside for recovery");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!thread.isAlive()) {
+            if (queued > 0) {
+                plugin.getLogger().info("Stats saved in " + (System.currentTimeMillis() - start) + "ms");
+            }
+            return true;
+        }
+
+        // Past the deadline: set aside the queue and the batch still being written
+        synchronized (lock) {
+            abandoned = true;
+            List<StatsDelta> unsaved = new ArrayList<>(pending.values());
+            recovered = new ArrayList<>(unsaved);
+            pending = new LinkedHashMap<>();
+            if (writing != null) {
+                unsaved.addAll(writing.values());
+            }
+            saveRecovery(unsaved);
+            if (!pendingMatches.isEmpty()) {
+                plugin.getLogger().warning(pendingMatches.size() + " matches could not be saved to match history");
+                pendingMatches = new ArrayList<>();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes deltas to the recovery file. Called with the lock held, so
+     * rewrites from the shutdown and writer threads are applied in order.
+     */
+    private void saveRecovery(Collection<StatsDelta> deltas) {
+        try {
+            recovery.save(deltas);
+            if (!deltas.isEmpty()) {
+                plugin.getLogger().warning("Stats for " + deltas.size() + " players could not be saved;"
+                        + " kept in " + recovery.getFileName() + " for the next startup");
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to write " + recovery.getFileName()
+                    + ", stats for " + deltas.size() + " players are lost: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writer thread loop.
+     */
+    private void run() {
+        boolean stopping = false;
+        while (!stopping) {
+            Map<UUID, StatsDelta> batch;
+            List<MatchRecord> matches;
+
+            synchronized (lock) {
+                // After a failure, wait out the retry delay even if the queue is full
+                long deadline = retryAt > 0 ? retryAt : System.currentTimeMillis() + flushIntervalMs;
+                while (running && (retryAt > 0 || (!flushRequested && pending.size() < batchSize))) {
+                    long wait = deadline - System.currentTimeMillis();
+                    if (wait <= 0) break;
+                    try {
+                        lock.wait(wait);
+                    } catch (InterruptedException e) {
+                        running = false;
+                    }
+                }
+
+                stopping = !running;
+                flushRequested = false;
+                retryAt = 0;
+
+                batch = pending;
+                if (!batch.isEmpty()) {
+                    pending = new LinkedHashMap<>();
+                    writing = batch;
+                }
+                matches = pendingMatches;
+                if (!matches.isEmpty()) {
+                    pendingMatches = new ArrayList<>();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                boolean written = writeBatch(batch.values());
+                synchronized (lock) {
+                    writing = null;
+                    if (abandoned) {
+                        // Shutdown gave up on this batch and saved it for recovery; it got in after all
+                        if (written) {
+                            plugin.getLogger().info("Late stats batch of " + batch.size()
+                                    + " players was saved; removing it from " + recovery.getFileName());
+                            saveRecovery(recovered);
+                        }
+                    } else if (!written && stopping) {
+                        recovered = new ArrayList<>(batch.values());
+                        saveRecovery(recovered);
+                    } else if (!written) {
+                        requeue(batch);
+                    }
+                }
+                if (written) {
+                    failures = 0;
+                } else if (!stopping) {
+                    backOff();
+                }
+            }
+            if (!matches.isEmpty()) {
+                boolean written = writeMatches(matches);
+                if (!written && stopping) {
+                    plugin.getLogger().warning(matches.size() + " matches could not be saved to match history");
+                } else if (!written) {
+                    synchronized (lock) {
+                        requeueMatches(matches);
+                    }
+                    if (retryAt == 0) {
+                        backOff();
+                    }
+                }
+            }
+            if (!stopping) {
+                maintainIfDue();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of stats atomically.
+     *
+     * @return true if written
+     */
+    private boolean writeBatch(Collection<StatsDelta> batch) {
+        plugin.getStatsManager().checkNotMainThread("writeBatch");
+        try {
+            storage.upsert(batch);
+            totalWritten += batch.size();
+            plugin.debug("Wrote stats deltas for %d players in one batch", batch.size());
+            return true;
+        } catch (StatsStorageException e) {
+            plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Delays the next write after a failure, doubling the delay with each
+     * consecutive failure up to a minute.
+     */
+    private void backOff() {
+        failures++;
+        long delay = Math.min(MAX_RETRY_DELAY, MIN_RETRY_DELAY << Math.min(failures - 1, 16));
+        retryAt = System.currentTimeMillis() + delay;
+        plugin.debug("Retrying stats write in %dms after %d failures", delay, failures);
+    }
+
+    /**
+     * Puts a failed batch back in front of the queue, merging newer deltas
+     * into it. Called with the lock held.
+     */
+    private void requeue(Map<UUID, StatsDelta> batch) {
+        Map<UUID, StatsDelta> merged = new LinkedHashMap<>(batch);
+        for (StatsDelta delta : pending.values()) {
+            StatsDelta failed = merged.get(delta.getUuid());
+            if (failed != null) {
+                failed.merge(delta);
+            } else {
+                merged.put(delta.getUuid(), delta);
+            }
+        }
+        pending = merged;
+    }
+
+    /**
+     * Writes finished matches atomically.
+     *
+     * @return true if written
+     */
+    private boolean writeMatches(List<MatchRecord> matches) {
+        try {
+            storage.insertMatches(matches);
+            plugin.debug("Wrote %d matches to match history", matches.size());
+            return true;
+        } catch (StatsStorageException e) {
+            plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Puts failed matches back in front of the queue, dropping the oldest
+     * past {@link #MAX_QUEUED_MATCHES}. Called with the lock held.
+     */
+    private void requeueMatches(List<MatchRecord> matches) {
+        List<MatchRecord> merged = new ArrayList<>(matches.size() + pendingMatches.size());
+        merged.addAll(matches);
+        merged.addAll(pendingMatches);
+        int excess = merged.size() - MAX_QUEUED_MATCHES;
+        if (excess > 0) {
+            plugin.getLogger().warning("Match history queue is full; dropping the " + excess + " oldest matches");
+            merged = new ArrayList<>(merged.subList(excess, merged.size()));
+        }
+        pendingMatches = merged;
+    }
+
+    /**
+     * Runs the hourly cleanup jobs when due.
+     */
+    private void maintainIfDue() {
+        long now = System.currentTimeMillis();
+        if (now < nextMaintenance) return;
+        nextMaintenance = now + MAINTENANCE_INTERVAL;
+
+        rollUp(now);
+        expireWindows(now);
+    }
+
+    /**
+     * Deletes leaderboard window buckets that have ended.
+     */
+    private void expireWindows(long now) {
+        if (!storage.hasWindows()) return;
+
+        for (StatsWindow window : StatsWindow.values()) {
+            if (!window.isWindowed()) continue;
+            try {
+                int deleted = storage.expireWindows(window, window.getBucket(now, plugin.getConfigManager()));
+                if (deleted > 0) {
+                    plugin.debug("Expired %d %s leaderboard rows", deleted, window.name().toLowerCase());
+                }
+            } catch (StatsStorageException e) {
+                plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rolls match history older than the retention period into daily totals.
+     */
+    private void rollUp(long now) {
+        if (retentionDays <= 0) return;
+
+        // Cut at midnight UTC so each day is either all raw or all rolled up
+        long cutoff = (now / DAY_MILLIS - retentionDays) * DAY_MILLIS;
+        try {
+            int rolledUp = storage.rollUpMatches(cutoff);
+            if (rolledUp > 0) {
+                plugin.debug("Rolled %d matches older than %d days into daily totals", rolledUp, retentionDays);
+            }
+        } catch (StatsStorageException e) {
+            plugin.getLogger().warning(e.getMessage() + ": " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Checks if a player's stats are queued or being written.
+     *
+     * @param uuid the player's UUID
+     * @return true if a write is outstanding
+     */
+    public boolean isPending(UUID uuid) {
+        synchronized (lock) {
+            return pending.containsKey(uuid) || (writing != null && writing.containsKey(uuid));
+        }
+    }
+
+    /**
+     * Gets the number of players waiting to be written.
+     *
+     * @return queued player count
+     */
+    public int getQueuedCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Gets the number of rows written since startup.
+     *
+     * @return rows written
+     */
+    public long getTotalWritten() {
+        return totalWritten;
+    }
+
+    /**
+     * Gets the number of saves merged into an already queued row.
+     *
+     * @return merged saves
+     */
+    public long getTotalMerged() {
+        return totalMerged;
+    }
+}
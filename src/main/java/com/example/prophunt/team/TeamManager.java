@@ -14,17 +14,39 @@ import java.util.*;
 public class TeamManager {
 
     private final Game game;
-    private final List<PropPlayer> props;
-    private final List<HunterPlayer> hunters;
-    private final List<GamePlayer> spectators;
+
+    // Keyed by UUID for constant-time lookup and removal; iterated in join order
+    private final Map<UUID, PropPlayer> props;
+    private final Map<UUID, HunterPlayer> hunters;
+    private final Map<UUID, GamePlayer> spectators;
+    private final Map<UUID, GamePlayer> playersById;
+
+    // Alive players, maintained as players are assigned, eliminated or removed
+    private final Map<UUID, PropPlayer> aliveProps;
+    private final Map<UUID, HunterPlayer> aliveHunters;
+
+    // Read-only views handed out by the getters
+    private final Collection<PropPlayer> propsView;
+    private final Collection<HunterPlayer> huntersView;
+    private final Collection<GamePlayer> spectatorsView;
+    private final Collection<PropPlayer> alivePropsView;
+    private final Collection<HunterPlayer> aliveHuntersView;
 
     private boolean firstBloodAwarded;
 
     public TeamManager(Game game) {
         this.game = game;
-        this.props = new ArrayList<>();
-        this.hunters = new ArrayList<>();
-        this.spectators = new ArrayList<>();
+        this.props = new LinkedHashMap<>();
+        this.hunters = new LinkedHashMap<>();
+        this.spectators = new LinkedHashMap<>();
+        this.playersById = new LinkedHashMap<>();
+        this.aliveProps = new LinkedHashMap<>();
+        this.aliveHunters = new LinkedHashMap<>();
+        this.propsView = Collections.unmodifiableCollection(props.values());
+        this.huntersView = Collections.unmodifiableCollection(hunters.values());
+        this.spectatorsView = Collections.unmodifiableCollection(spectators.values());
+        this.alivePropsView = Collections.unmodifiableCollection(aliveProps.values());
+        this.aliveHuntersView = Collections.unmodifiableCollection(aliveHunters.values());
         this.firstBloodAwarded = false;
     }
 
@@ -44,62 +66,67 @@ public class TeamManager {
             GamePlayer gp = playerList.get(i);
             if (i < propCount) {
                 PropPlayer prop = PropPlayer.fromGamePlayer(gp);
-                props.add(prop);
+                props.put(prop.getUuid(), prop);
+                aliveProps.put(prop.getUuid(), prop);
+                playersById.put(prop.getUuid(), prop);
             } else {
                 HunterPlayer hunter = HunterPlayer.fromGamePlayer(gp);
                 hunter.setAttackCooldown(settings.getAttackCooldown());
-                hunters.add(hunter);
+                hunters.put(hunter.getUuid(), hunter);
+                aliveHunters.put(hunter.getUuid(), hunter);
+                playersById.put(hunter.getUuid(), hunter);
             }
         }
     }
 
     /**
-     * Gets all props.
+     * Gets all props, in the order they were assigned.
+     * This is a live read-only view; copy it before removing players while iterating.
      *
-     * @return unmodifiable list of props
+     * @return unmodifiable view of props
      */
-    public List<PropPlayer> getProps() {
-        return Collections.unmodifiableList(props);
+    public Collection<PropPlayer> getProps() {
+        return propsView;
     }
 
     /**
-     * Gets all hunters.
+     * Gets all hunters, in the order they were assigned.
+     * This is a live read-only view; copy it before removing players while iterating.
      *
-     * @return unmodifiable list of hunters
+     * @return unmodifiable view of hunters
      */
-    public List<HunterPlayer> getHunters() {
-        return Collections.unmodifiableList(hunters);
+    public Collection<HunterPlayer> getHunters() {
+        return huntersView;
     }
 
     /**
-     * Gets all spectators.
+     * Gets all spectators, in the order they were eliminated.
+     * This is a live read-only view; copy it before removing players while iterating.
      *
-     * @return unmodifiable list of spectators
+     * @return unmodifiable view of spectators
      */
-    public List<GamePlayer> getSpectators() {
-        return Collections.unmodifiableList(spectators);
+    public Collection<GamePlayer> getSpectators() {
+        return spectatorsView;
     }
 
     /**
      * Gets all alive props.
+     * This is a live read-only view; copy it before eliminating props while iterating.
      *
-     * @return list of alive props
+     * @return unmodifiable view of alive props
      */
-    public List<PropPlayer> getAliveProps() {
-        return props.stream()
-                .filter(p -> p.getTeam() == Team.PROPS)
-                .toList();
+    public Collection<PropPlayer> getAliveProps() {
+        return alivePropsView;
     }
 
     /**
      * Gets all alive hunters.
+     * This is a live read-only view; copy it before eliminating hunters while iterating.
      *
-     * @return list of alive hunters
+     * @return unmodifiable view of alive hunters
      */
-    public List<HunterPlayer> getAliveHunters() {
-        return hunters.stream()
-                .filter(h -> h.getTeam() == Team.HUNTERS)
-                .toList();
+    public Collection<HunterPlayer> getAliveHunters() {
+        return aliveHuntersView;
     }
 
     /**
@@ -108,9 +135,7 @@ public class TeamManager {
      * @return alive prop count
      */
     public int getAlivePropCount() {
-        return (int) props.stream()
-                .filter(p -> p.getTeam() == Team.PROPS)
-                .count();
+        return aliveProps.size();
     }
 
     /**
@@ -119,9 +144,7 @@ public class TeamManager {
      * @return alive hunter count
      */
     public int getAliveHunterCount() {
-        return (int) hunters.stream()
-                .filter(h -> h.getTeam() == Team.HUNTERS)
-                .count();
+        return aliveHunters.size();
     }
 
     /**
@@ -148,9 +171,10 @@ public class TeamManager {
      * @param prop the prop to eliminate
      */
     public void eliminateProp(PropPlayer prop) {
+        aliveProps.remove(prop.getUuid());
         prop.setTeam(Team.SPECTATOR);
         prop.setSpectator();
-        spectators.add(prop);
+        spectators.put(prop.getUuid(), prop);
     }
 
     /**
@@ -159,9 +183,10 @@ public class TeamManager {
      * @param hunter the hunter to eliminate
      */
     public void eliminateHunter(HunterPlayer hunter) {
+        aliveHunters.remove(hunter.getUuid());
         hunter.setTeam(Team.SPECTATOR);
         hunter.setSpectator();
-        spectators.add(hunter);
+        spectators.put(hunter.getUuid(), hunter);
     }
 
     /**
@@ -171,10 +196,7 @@ public class TeamManager {
      * @return the prop, or null
      */
     public PropPlayer getProp(UUID uuid) {
-        return props.stream()
-                .filter(p -> p.getUuid().equals(uuid))
-                .findFirst()
-                .orElse(null);
+        return props.get(uuid);
     }
 
     /**
@@ -184,10 +206,7 @@ public class TeamManager {
      * @return the hunter, or null
      */
     public HunterPlayer getHunter(UUID uuid) {
-        return hunters.stream()
-                .filter(h -> h.getUuid().equals(uuid))
-                .findFirst()
-                .orElse(null);
+        return hunters.get(uuid);
     }
 
     /**
@@ -197,29 +216,26 @@ public class TeamManager {
      * @return the player, or null
      */
     public GamePlayer getPlayer(UUID uuid) {
-        PropPlayer prop = getProp(uuid);
-        if (prop != null) return prop;
-
-        HunterPlayer hunter = getHunter(uuid);
-        if (hunter != null) return hunter;
-
-        return spectators.stream()
-                .filter(s -> s.getUuid().equals(uuid))
-                .findFirst()
-                .orElse(null);
+        return playersById.get(uuid);
     }
 
     /**
      * Gets all players in the game.
+     * Eliminated players appear once, even though they are also spectators.
      *
      * @return list of all players
      */
     public List<GamePlayer> getAllPlayers() {
-        List<GamePlayer> all = new ArrayList<>();
-        all.addAll(props);
-        all.addAll(hunters);
-        all.addAll(spectators);
-        return all;
+        return new ArrayList<>(playersById.values());
+    }
+
+    /**
+     * Gets the number of players in the game (alive or eliminated).
+     *
+     * @return player count
+     */
+    public int getPlayerCount() {
+        return playersById.size();
     }
 
     /**
@@ -229,34 +245,18 @@ public class TeamManager {
      * @return the removed player, or null
      */
     public GamePlayer removePlayer(UUID uuid) {
-        // Check props
-        for (Iterator<PropPlayer> it = props.iterator(); it.hasNext(); ) {
-            PropPlayer p = it.next();
-            if (p.getUuid().equals(uuid)) {
-                it.remove();
-                return p;
-            }
-        }
-
-        // Check hunters
-        for (Iterator<HunterPlayer> it = hunters.iterator(); it.hasNext(); ) {
-            HunterPlayer h = it.next();
-            if (h.getUuid().equals(uuid)) {
-                it.remove();
-                return h;
-            }
+        GamePlayer removed = playersById.remove(uuid);
+        if (removed == null) {
+            return null;
         }
 
-        // Check spectators
-        for (Iterator<GamePlayer> it = spectators.iterator(); it.hasNext(); ) {
-            GamePlayer s = it.next();
-            if (s.getUuid().equals(uuid)) {
-                it.remove();
-                return s;
-            }
-        }
+        props.remove(uuid);
+        aliveProps.remove(uuid);
+        hunters.remove(uuid);
+        aliveHunters.remove(uuid);
+        spectators.remove(uuid);
 
-        return null;
+        return removed;
     }
 
     /**
@@ -302,6 +302,9 @@ public class TeamManager {
         props.clear();
         hunters.clear();
         spectators.clear();
+        aliveProps.clear();
+        aliveHunters.clear();
+        playersById.clear();
         firstBloodAwarded = false;
     }
 }
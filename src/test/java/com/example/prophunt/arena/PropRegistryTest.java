@@ -0,0 +1,121 @@
+package com.example.prophunt.arena;
+
+import com.example.prophunt.disguise.PropSize;
+import com.example.prophunt.disguise.PropType;
+import org.bukkit.Material;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for random prop selection in the prop registry.
+ */
+class PropRegistryTest {
+
+    private static final int DRAWS = 2_000_000;
+
+    private static PropRegistry registry(Map<Material, Long> weights, PropSize size) {
+        PropRegistry registry = new PropRegistry();
+        for (Map.Entry<Material, Long> entry : weights.entrySet()) {
+            // Block data needs a running server and plays no part in sampling
+            registry.addProp(new PropType(entry.getKey(), null, size));
+            registry.setWeight(entry.getKey(), entry.getValue());
+        }
+        return registry;
+    }
+
+    /**
+     * Checks each observed frequency is within six standard deviations of
+     * its expected probability.
+     */
+    private static void assertFrequencies(Map<Material, Double> expected, Map<Material, Integer> observed) {
+        assertEquals(expected.keySet(), observed.keySet(), "Drew a prop outside the expected set");
+        for (Map.Entry<Material, Double> entry : expected.entrySet()) {
+            double p = entry.getValue();
+            double frequency = observed.get(entry.getKey()) / (double) DRAWS;
+            double tolerance = 6 * Math.sqrt(p * (1 - p) / DRAWS);
+            assertEquals(p, frequency, tolerance, entry.getKey().name());
+        }
+    }
+
+    private static Map<Material, Long> weights() {
+        Map<Material, Long> weights = new LinkedHashMap<>();
+        weights.put(Material.CHEST, 1L);
+        weights.put(Material.BARREL, 3L);
+        weights.put(Material.FURNACE, 10L);
+        weights.put(Material.LANTERN, 50L);
+        weights.put(Material.FLOWER_POT, 200L);
+        weights.put(Material.BOOKSHELF, 1000L);
+        weights.put(Material.CRAFTING_TABLE, 80000L);
+        return weights;
+    }
+
+    @Test
+    @DisplayName("Weighted draws follow each prop's share of the total weight")
+    void weightedDrawsMatchWeights() {
+        Map<Material, Long> weights = weights();
+        PropRegistry registry = registry(weights, PropSize.MEDIUM);
+
+        double total = weights.values().stream().mapToLong(Long::longValue).sum();
+        Map<Material, Double> expected = new HashMap<>();
+        weights.forEach((material, weight) -> expected.put(material, weight / total));
+
+        Map<Material, Integer> observed = new HashMap<>();
+        for (int i = 0; i < DRAWS; i++) {
+            observed.merge(registry.getRandomProp(true).getMaterial(), 1, Integer::sum);
+        }
+        assertFrequencies(expected, observed);
+    }
+
+    @Test
+    @DisplayName("Unweighted draws give every prop equal odds")
+    void unweightedDrawsAreUniform() {
+        Map<Material, Long> weights = weights();
+        PropRegistry registry = registry(weights, PropSize.MEDIUM);
+
+        Map<Material, Double> expected = new HashMap<>();
+        weights.keySet().forEach(material -> expected.put(material, 1.0 / weights.size()));
+
+        Map<Material, Integer> observed = new HashMap<>();
+        for (int i = 0; i < DRAWS; i++) {
+            observed.merge(registry.getRandomProp(false).getMaterial(), 1, Integer::sum);
+        }
+        assertFrequencies(expected, observed);
+    }
+
+    @Test
+    @DisplayName("Draws by size only return props of that size and follow new weights")
+    void sizedDrawsFollowChanges() {
+        PropRegistry registry = registry(weights(), PropSize.MEDIUM);
+        registry.addProp(new PropType(Material.CANDLE, null, PropSize.SMALL));
+        registry.addProp(new PropType(Material.TORCH, null, PropSize.SMALL));
+        registry.setWeight(Material.CANDLE, 3);
+
+        Map<Material, Integer> observed = new HashMap<>();
+        for (int i = 0; i < DRAWS; i++) {
+            observed.merge(registry.getRandomProp(PropSize.SMALL).getMaterial(), 1, Integer::sum);
+        }
+        assertFrequencies(Map.of(Material.CANDLE, 0.75, Material.TORCH, 0.25), observed);
+
+        // The table is rebuilt after the weights change
+        registry.setWeight(Material.TORCH, 3);
+        observed.clear();
+        for (int i = 0; i < DRAWS; i++) {
+            observed.merge(registry.getRandomProp(PropSize.SMALL).getMaterial(), 1, Integer::sum);
+        }
+        assertFrequencies(Map.of(Material.CANDLE, 0.5, Material.TORCH, 0.5), observed);
+    }
+
+    @Test
+    @DisplayName("An empty registry or size draws nothing")
+    void emptyDrawsNull() {
+        PropRegistry registry = new PropRegistry();
+        assertNull(registry.getRandomProp());
+        registry.addProp(new PropType(Material.CHEST, null, PropSize.MEDIUM));
+        assertNull(registry.getRandomProp(PropSize.LARGE));
+        assertEquals(Material.CHEST, registry.getRandomProp().getMaterial());
+    }
+}
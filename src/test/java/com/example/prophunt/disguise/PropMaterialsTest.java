@@ -0,0 +1,139 @@
+package com.example.prophunt.disguise;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the built-in prop material rules against the name checks they
+ * replaced, for every non-legacy material.
+ */
+class PropMaterialsTest {
+
+    // The explicit sets the old ArenaScanner checked
+    private static final Set<String> OLD_BLACKLIST = Set.of(
+            "AIR", "CAVE_AIR", "VOID_AIR",
+            "BARRIER", "STRUCTURE_VOID", "STRUCTURE_BLOCK",
+            "COMMAND_BLOCK", "CHAIN_COMMAND_BLOCK", "REPEATING_COMMAND_BLOCK",
+            "JIGSAW", "LIGHT",
+            "WATER", "LAVA",
+            "BEDROCK", "END_PORTAL", "END_PORTAL_FRAME",
+            "NETHER_PORTAL", "END_GATEWAY",
+            "SPAWNER", "INFESTED_STONE", "INFESTED_COBBLESTONE",
+            "INFESTED_STONE_BRICKS", "INFESTED_MOSSY_STONE_BRICKS",
+            "INFESTED_CRACKED_STONE_BRICKS", "INFESTED_CHISELED_STONE_BRICKS",
+            "INFESTED_DEEPSLATE",
+            "MOVING_PISTON", "PISTON_HEAD",
+            "REDSTONE_WIRE", "COMPARATOR", "REPEATER",
+            "FIRE", "SOUL_FIRE",
+            "DRAGON_EGG", "CHORUS_PLANT", "CHORUS_FLOWER"
+    );
+
+    private static final Set<String> OLD_WHITELIST = Set.of(
+            "BARREL", "CHEST", "TRAPPED_CHEST",
+            "FURNACE", "CRAFTING_TABLE", "CAULDRON",
+            "FLOWER_POT", "LANTERN", "SOUL_LANTERN",
+            "DECORATED_POT", "CAMPFIRE", "SOUL_CAMPFIRE",
+            "ANVIL", "CHIPPED_ANVIL", "DAMAGED_ANVIL",
+            "BREWING_STAND", "ENCHANTING_TABLE",
+            "LECTERN", "COMPOSTER", "SMOKER", "BLAST_FURNACE",
+            "HOPPER", "DISPENSER", "DROPPER",
+            "BEE_NEST", "BEEHIVE",
+            "BELL", "GRINDSTONE", "STONECUTTER",
+            "CARTOGRAPHY_TABLE", "FLETCHING_TABLE", "LOOM",
+            "SMITHING_TABLE"
+    );
+
+    private static boolean oldIsDecorative(Material material) {
+        String name = material.name();
+        return name.contains("FLOWER") ||
+               name.contains("POTTED") ||
+               name.contains("TORCH") ||
+               name.contains("CANDLE") ||
+               name.contains("LANTERN") ||
+               name.contains("CARPET") ||
+               name.contains("BUTTON") ||
+               name.contains("CORAL") ||
+               name.contains("MUSHROOM") ||
+               name.contains("FERN") ||
+               name.contains("GRASS") ||
+               name.contains("SAPLING") ||
+               name.contains("SIGN") ||
+               OLD_WHITELIST.contains(name);
+    }
+
+    private static boolean oldIsValid(Material material) {
+        if (!material.isBlock()) return false;
+        if (OLD_BLACKLIST.contains(material.name())) return false;
+        if (material.isAir()) return false;
+        return material.isSolid() || oldIsDecorative(material);
+    }
+
+    private static PropSize oldGetSize(Material material) {
+        String name = material.name();
+
+        if (name.contains("BUTTON") || name.contains("TORCH") || name.contains("CANDLE") ||
+            name.contains("FLOWER") || name.contains("SAPLING") || name.contains("LEVER") ||
+            name.contains("PRESSURE_PLATE") || name.contains("TRIPWIRE") ||
+            name.equals("DEAD_BUSH") || name.equals("FERN") || name.equals("GRASS") ||
+            name.contains("CORAL") && !name.contains("BLOCK") || name.contains("PICKLE") ||
+            name.contains("MUSHROOM") && !name.contains("BLOCK") && !name.contains("STEM")) {
+            return PropSize.SMALL;
+        }
+
+        if (name.contains("BARREL") || name.contains("CHEST") || name.contains("FURNACE") ||
+            name.contains("CRAFTING") || name.contains("CAULDRON") || name.contains("COMPOSTER") ||
+            name.contains("LECTERN") || name.contains("SMOKER") || name.contains("BLAST") ||
+            name.contains("ANVIL") || name.contains("BREWING") || name.contains("ENCHANTING") ||
+            name.contains("HOPPER") || name.contains("DISPENSER") || name.contains("DROPPER") ||
+            name.contains("OBSERVER") || name.contains("PISTON") || name.contains("BED") ||
+            name.contains("SHULKER") || name.contains("BEACON") || name.contains("CONDUIT")) {
+            return PropSize.LARGE;
+        }
+
+        return PropSize.MEDIUM;
+    }
+
+    @Test
+    @DisplayName("Built-in rules match the old checks for every non-legacy material")
+    void builtInRulesMatchOldChecks() {
+        PropMaterials materials = PropMaterials.load(null, null);
+
+        List<String> mismatches = new ArrayList<>();
+        for (Material material : Material.values()) {
+            if (material.isLegacy()) continue;
+
+            if (materials.isValid(material) != oldIsValid(material)) {
+                mismatches.add(material + " valid=" + materials.isValid(material));
+            }
+            if (materials.isDecorative(material) != oldIsDecorative(material)) {
+                mismatches.add(material + " decorative=" + materials.isDecorative(material));
+            }
+            if (materials.getSize(material) != oldGetSize(material)) {
+                mismatches.add(material + " size=" + materials.getSize(material)
+                        + ", was " + oldGetSize(material));
+            }
+        }
+        assertTrue(mismatches.isEmpty(), "Rules differ from the old checks: " + mismatches);
+    }
+
+    @Test
+    @DisplayName("Translated exclusion and wildcard rules behave as before")
+    void translatedRules() {
+        PropMaterials materials = PropMaterials.load(null, null);
+
+        assertEquals(PropSize.SMALL, materials.getSize(Material.TUBE_CORAL));
+        assertEquals(PropSize.MEDIUM, materials.getSize(Material.TUBE_CORAL_BLOCK));
+        assertEquals(PropSize.SMALL, materials.getSize(Material.RED_MUSHROOM));
+        assertEquals(PropSize.MEDIUM, materials.getSize(Material.RED_MUSHROOM_BLOCK));
+        assertEquals(PropSize.MEDIUM, materials.getSize(Material.MUSHROOM_STEM));
+        assertFalse(materials.isValid(Material.INFESTED_STONE));
+        assertFalse(materials.isValid(Material.INFESTED_DEEPSLATE));
+        assertTrue(materials.isValid(Material.STONE));
+        assertFalse(materials.isValid(null));
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the journal stats backend: replay, torn-tail truncation
+ * and compaction.
+ */
+class JournalStatsStorageTest {
+
+    private static final int HEADER_SIZE = 8;
+
+    @TempDir
+    File dataFolder;
+
+    private PropHuntPlugin plugin;
+    private Path journal;
+    private Random random;
+    private List<UUID> players;
+    private List<List<StatsDelta>> games;
+    private final List<JournalStatsStorage> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        plugin = StatsTestSupport.mockPlugin(dataFolder);
+        journal = dataFolder.toPath().resolve("stats.journal");
+        random = new Random(7);
+        players = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            players.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        games = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Release storages left open to simulate a crash
+        for (JournalStatsStorage storage : opened) {
+            storage.closeEarly();
+        }
+    }
+
+    private JournalStatsStorage open() throws StatsStorageException {
+        JournalStatsStorage storage = new JournalStatsStorage(plugin);
+        storage.open();
+        opened.add(storage);
+        return storage;
+    }
+
+    /**
+     * Writes one game's results for some of the players.
+     */
+    private void writeGame(JournalStatsStorage storage) throws StatsStorageException {
+        List<StatsDelta> batch = new ArrayList<>();
+        for (UUID uuid : players.subList(0, 16 + random.nextInt(players.size() - 16))) {
+            batch.add(StatsTestSupport.randomGame(uuid, random));
+        }
+        storage.upsert(batch);
+        games.add(batch);
+    }
+
+    /**
+     * Checks the storage holds exactly the first games written.
+     */
+    private void assertStored(StatsStorage storage, int gameCount) throws StatsStorageException {
+        Map<UUID, PlayerStats> expected = new HashMap<>();
+        for (List<StatsDelta> game : games.subList(0, gameCount)) {
+            for (StatsDelta delta : game) {
+                expected.computeIfAbsent(delta.getUuid(), uuid -> new PlayerStats(uuid, delta.getName())).apply(delta);
+            }
+        }
+
+        for (UUID uuid : players) {
+            PlayerStats want = expected.get(uuid);
+            PlayerStats got = storage.load(uuid);
+            if (want == null) {
+                assertNull(got, "Unexpected stats for " + uuid);
+                continue;
+            }
+            assertNotNull(got, "Missing stats for " + uuid);
+            assertEquals(want.getLastKnownName(), got.getLastKnownName());
+            assertEquals(want.getGamesPlayed(), got.getGamesPlayed());
+            assertEquals(want.getGamesWon(), got.getGamesWon());
+            assertEquals(want.getGamesLost(), got.getGamesLost());
+            assertEquals(want.getPropsFound(), got.getPropsFound());
+            assertEquals(want.getTotalPoints(), got.getTotalPoints());
+            assertEquals(want.getHighestGamePoints(), got.getHighestGamePoints());
+            assertEquals(want.getTotalTimeAsHiddenProp(), got.getTotalTimeAsHiddenProp());
+            assertEquals(want.getTotalPlayTime(), got.getTotalPlayTime());
+        }
+    }
+
+    private void assertStored(StatsStorage storage) throws StatsStorageException {
+        assertStored(storage, games.size());
+    }
+
+    @Test
+    @DisplayName("Appended batches are replayed after a crash")
+    void replaysAfterCrash() throws Exception {
+        JournalStatsStorage storage = open();
+        for (int i = 0; i < 5; i++) {
+            writeGame(storage);
+        }
+
+        // Not closed, so nothing was compacted
+        assertStored(open());
+    }
+
+    @Test
+    @DisplayName("A torn record at the end is cut off and earlier ones survive")
+    void truncatesTornTail() throws Exception {
+        JournalStatsStorage storage = open();
+        for (int i = 0; i < 3; i++) {
+            writeGame(storage);
+        }
+        long good = Files.size(journal);
+        writeGame(storage);
+        long full = Files.size(journal);
+        storage.closeEarly();
+
+        // Crash part way through the last record
+        try (RandomAccessFile file = new RandomAccessFile(journal.toFile(), "rw")) {
+            file.setLength(good + (full - good) / 2);
+        }
+
+        JournalStatsStorage reopened = open();
+        assertEquals(good, Files.size(journal), "Torn record should be truncated");
+        assertStored(reopened, 3);
+
+        // Appends after the cut replay normally
+        games.remove(3);
+        writeGame(reopened);
+        assertStored(open());
+    }
+
+    @Test
+    @DisplayName("A record failing its checksum ends the replay")
+    void stopsAtCorruptRecord() throws Exception {
+        JournalStatsStorage storage = open();
+        for (int i = 0; i < 3; i++) {
+            writeGame(storage);
+        }
+        long good = Files.size(journal);
+        writeGame(storage);
+        long full = Files.size(journal);
+        storage.closeEarly();
+
+        // Flip a byte in the last record's payload
+        try (RandomAccessFile file = new RandomAccessFile(journal.toFile(), "rw")) {
+            long at = full - 4;
+            file.seek(at);
+            int value = file.read();
+            file.seek(at);
+            file.write(value ^ 0xFF);
+        }
+
+        assertStored(open(), 3);
+        assertEquals(good, Files.size(journal));
+    }
+
+    @Test
+    @DisplayName("An empty or header-less journal opens as empty")
+    void opensEmpty() throws Exception {
+        Files.write(journal, new byte[3]); // Crashed while writing the header
+        JournalStatsStorage storage = open();
+        assertEquals(HEADER_SIZE, Files.size(journal));
+        assertStored(storage);
+    }
+
+    @Test
+    @DisplayName("Compaction rewrites the journal as a snapshot with the same stats")
+    void compactsToSnapshot() throws Exception {
+        // Compact whenever the appended records outgrow the last snapshot
+        StatsTestSupport.setInt(plugin, "storage.journal.compact-threshold", 0);
+        JournalStatsStorage storage = open();
+
+        long largest = 0;
+        for (int i = 0; i < 50; i++) {
+            writeGame(storage);
+            largest = Math.max(largest, Files.size(journal));
+        }
+        assertStored(storage);
+        storage.close();
+
+        // A snapshot plus less than a snapshot's worth of games, not all 50
+        long snapshot = Files.size(journal);
+        assertTrue(largest < 3 * snapshot, "Journal grew to " + largest + " bytes, snapshot is " + snapshot);
+        assertFalse(Files.exists(journal.resolveSibling("stats.journal.tmp")));
+
+        assertStored(open());
+    }
+
+    @Test
+    @DisplayName("Closing compacts, and the snapshot replays to the same stats")
+    void closeCompacts() throws Exception {
+        JournalStatsStorage storage = open();
+        for (int i = 0; i < 30; i++) {
+            writeGame(storage);
+        }
+        long appended = Files.size(journal);
+        storage.close();
+
+        assertTrue(Files.size(journal) < appended, "Journal was not compacted on close");
+        assertStored(open());
+    }
+
+    @Test
+    @DisplayName("Closing early leaves the journal as written")
+    void closeEarlySkipsCompaction() throws Exception {
+        JournalStatsStorage storage = open();
+        for (int i = 0; i < 30; i++) {
+            writeGame(storage);
+        }
+        long appended = Files.size(journal);
+        storage.closeEarly();
+
+        assertEquals(appended, Files.size(journal));
+        assertStored(open());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.stats.StatsManager.StatType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the in-memory leaderboard index.
+ */
+class LeaderboardIndexTest {
+
+    private static long[] values(long gamesWon, long totalPoints) {
+        long[] values = new long[StatType.values().length];
+        values[StatType.GAMES_WON.ordinal()] = gamesWon;
+        values[StatType.TOTAL_POINTS.ordinal()] = totalPoints;
+        return values;
+    }
+
+    private static StatsDelta win(UUID uuid, int points) {
+        StatsDelta delta = new StatsDelta(uuid, "player");
+        delta.incrementGamesPlayed();
+        delta.incrementGamesWon();
+        delta.addPoints(points);
+        delta.updateHighestGamePoints(points);
+        return delta;
+    }
+
+    @Test
+    @DisplayName("getTop returns players in descending order up to the limit")
+    void topIsDescendingAndLimited() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            UUID uuid = UUID.randomUUID();
+            players.add(uuid);
+            index.load(uuid, "p" + i, values(i, 1000 - i));
+        }
+        index.markReady();
+
+        List<PlayerStats> top = index.getTop(StatType.GAMES_WON, 10);
+        assertEquals(10, top.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(players.get(49 - i), top.get(i).getUuid());
+            assertEquals(49 - i, top.get(i).getGamesWon());
+        }
+
+        List<PlayerStats> byPoints = index.getTop(StatType.TOTAL_POINTS, 3);
+        assertEquals(players.subList(0, 3), byPoints.stream().map(PlayerStats::getUuid).toList());
+        assertEquals(50, index.getTop(StatType.GAMES_WON, 100).size());
+        assertTrue(index.getTop(StatType.GAMES_WON, 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("getRank counts strictly higher scores, so ties share a rank")
+    void rankSharesTies() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        UUID first = UUID.randomUUID();
+        UUID tiedA = UUID.randomUUID();
+        UUID tiedB = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        index.load(first, "first", values(10, 0));
+        index.load(tiedA, "tiedA", values(5, 0));
+        index.load(tiedB, "tiedB", values(5, 0));
+        index.load(last, "last", values(1, 0));
+        index.markReady();
+
+        assertEquals(1, index.getRank(first, StatType.GAMES_WON));
+        assertEquals(2, index.getRank(tiedA, StatType.GAMES_WON));
+        assertEquals(2, index.getRank(tiedB, StatType.GAMES_WON));
+        assertEquals(4, index.getRank(last, StatType.GAMES_WON));
+        assertEquals(-1, index.getRank(UUID.randomUUID(), StatType.GAMES_WON));
+    }
+
+    @Test
+    @DisplayName("apply moves a player up the ranking and adds new players")
+    void applyUpdatesRanks() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        UUID leader = UUID.randomUUID();
+        UUID climber = UUID.randomUUID();
+        index.load(leader, "leader", values(3, 300));
+        index.load(climber, "climber", values(2, 200));
+        index.markReady();
+
+        index.apply(win(climber, 150));
+        index.apply(win(climber, 50));
+        assertEquals(1, index.getRank(climber, StatType.GAMES_WON));
+        assertEquals(2, index.getRank(leader, StatType.GAMES_WON));
+        assertEquals(400, index.getTop(StatType.TOTAL_POINTS, 1).get(0).getTotalPoints());
+        assertEquals(150, index.getTop(StatType.HIGHEST_GAME_POINTS, 1).get(0).getHighestGamePoints());
+
+        UUID newcomer = UUID.randomUUID();
+        index.apply(win(newcomer, 10));
+        assertEquals(3, index.size());
+        assertEquals(3, index.getRank(newcomer, StatType.TOTAL_POINTS));
+    }
+
+    @Test
+    @DisplayName("Deltas applied before markReady are replayed once, unaffected by later merges")
+    void bufferedDeltasAreCopied() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        UUID uuid = UUID.randomUUID();
+        index.load(uuid, "player", values(0, 0));
+
+        StatsDelta first = win(uuid, 10);
+        index.apply(first);
+        assertFalse(index.isReady());
+
+        // The writer merges the next game into the delta it already holds
+        StatsDelta second = win(uuid, 20);
+        first.merge(second);
+        index.apply(second);
+
+        index.markReady();
+        PlayerStats stats = index.getTop(StatType.GAMES_WON, 1).get(0);
+        assertEquals(2, stats.getGamesWon());
+        assertEquals(30, stats.getTotalPoints());
+    }
+
+    @Test
+    @DisplayName("An abandoned index drops buffered deltas")
+    void abandonDropsBuffered() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        UUID uuid = UUID.randomUUID();
+        index.apply(win(uuid, 10));
+        index.abandon();
+
+        assertFalse(index.isReady());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Ranks match a sorted reference after many random updates")
+    void matchesReferenceAfterRandomUpdates() {
+        Random random = new Random(42);
+        LeaderboardIndex index = new LeaderboardIndex();
+        Map<UUID, Long> reference = new HashMap<>();
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UUID uuid = UUID.randomUUID();
+            long points = random.nextInt(100);
+            players.add(uuid);
+            reference.put(uuid, points);
+            index.load(uuid, "p" + i, values(0, points));
+        }
+        index.markReady();
+
+        for (int i = 0; i < 2000; i++) {
+            UUID uuid = players.get(random.nextInt(players.size()));
+            int points = random.nextInt(20);
+            index.apply(win(uuid, points));
+            reference.merge(uuid, (long) points, Long::sum);
+        }
+
+        List<Long> expected = reference.values().stream().sorted(Comparator.reverseOrder()).toList();
+        List<Long> actual = index.getTop(StatType.TOTAL_POINTS, players.size()).stream()
+                .map(PlayerStats::getTotalPoints).toList();
+        assertEquals(expected, actual);
+
+        for (UUID uuid : players) {
+            long higher = reference.values().stream().filter(v -> v > reference.get(uuid)).count();
+            assertEquals(higher + 1, index.getRank(uuid, StatType.TOTAL_POINTS));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+import com.example.prophunt.stats.StatsManager.StatType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.sql.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Times the SQLite leaderboard and name queries with and without the
+ * {@code player_stats} indexes from schema migration 2. Only runs with
+ * {@code mvn test -Pbenchmark}; the number of rows is set with
+ * {@code -Dbenchmark.players=N}.
+ */
+@Tag("benchmark")
+class StatsSchemaBenchmark {
+
+    private static final int PLAYERS = Integer.getInteger("benchmark.players", 100_000);
+    private static final int POPULATE_BATCH = 1000;
+    private static final int WRITE_BATCH = 50;
+
+    private static final List<String> ROWS = List.of(
+            "top 10 by a stat", "rank (COUNT above me)", "name lookup (NOCASE)", "50-row write txn");
+
+    @TempDir
+    File dataFolder;
+
+    @Test
+    @DisplayName("Compare SQLite queries before and after the leaderboard indexes")
+    void compareIndexes() throws Exception {
+        PropHuntPlugin plugin = StatsTestSupport.mockPlugin(dataFolder);
+        Random random = new Random(1);
+        List<UUID> players = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        SqliteStatsStorage storage = new SqliteStatsStorage(plugin);
+        storage.open();
+        try {
+            List<StatsDelta> batch = new ArrayList<>(POPULATE_BATCH);
+            for (UUID uuid : players) {
+                batch.add(StatsTestSupport.randomGame(uuid, random));
+                if (batch.size() == POPULATE_BATCH) {
+                    storage.upsert(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                storage.upsert(batch);
+            }
+
+            Map<String, Double> after = measure(storage, players, random);
+
+            // Back to the version 1 table
+            String url = "jdbc:sqlite:" + new File(dataFolder, "stats.db").getAbsolutePath();
+            try (Connection connection = DriverManager.getConnection(url);
+                 Statement stmt = connection.createStatement()) {
+                List<String> indexes = new ArrayList<>();
+                try (ResultSet rs = stmt.executeQuery("SELECT name FROM sqlite_master"
+                        + " WHERE type = 'index' AND name LIKE 'idx_player_stats_%'")) {
+                    while (rs.next()) {
+                        indexes.add(rs.getString(1));
+                    }
+                }
+                assertEquals(StatType.values().length + 1, indexes.size());
+                for (String index : indexes) {
+                    stmt.execute("DROP INDEX " + index);
+                }
+            }
+
+            Map<String, Double> before = measure(storage, players, random);
+
+            StringBuilder table = new StringBuilder();
+            table.append(String.format("%nSQLite player_stats, %,d rows (medians of %d runs, ms)%n",
+                    PLAYERS, StatsTestSupport.RUNS));
+            table.append(String.format("%-24s%12s%12s%n", "", "before", "after"));
+            for (String row : ROWS) {
+                table.append(String.format("%-24s%12.3f%12.3f%n", row, before.get(row), after.get(row)));
+            }
+            System.out.println(table);
+        } finally {
+            storage.close();
+        }
+    }
+
+    private static Map<String, Double> measure(SqliteStatsStorage storage, List<UUID> players,
+                                               Random random) throws Exception {
+        Map<String, Double> timings = new LinkedHashMap<>();
+        timings.put("top 10 by a stat", StatsTestSupport.median(
+                () -> assertEquals(10, storage.getTop(StatType.TOTAL_POINTS, 10).size())));
+        timings.put("rank (COUNT above me)", StatsTestSupport.median(
+                () -> assertTrue(storage.getRank(pick(players, random), StatType.TOTAL_POINTS) > 0)));
+        timings.put("name lookup (NOCASE)", StatsTestSupport.median(() -> assertNotNull(
+                storage.findByName(StatsTestSupport.nameOf(pick(players, random)).toUpperCase(Locale.ROOT)))));
+        timings.put("50-row write txn", StatsTestSupport.median(() -> {
+            List<StatsDelta> batch = new ArrayList<>(WRITE_BATCH);
+            for (int i = 0; i < WRITE_BATCH; i++) {
+                batch.add(StatsTestSupport.randomGame(pick(players, random), random));
+            }
+            storage.upsert(batch);
+        }));
+        return timings;
+    }
+
+    private static UUID pick(List<UUID> players, Random random) {
+        return players.get(random.nextInt(players.size()));
+    }
+}
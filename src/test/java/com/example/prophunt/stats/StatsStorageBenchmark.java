@@ -0,0 +1,128 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+import com.example.prophunt.stats.StatsManager.StatType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same stats workload against each storage backend and prints the
+ * timings. Only runs with {@code mvn test -Pbenchmark}; the number of
+ * players is set with {@code -Dbenchmark.players=N}.
+ */
+@Tag("benchmark")
+class StatsStorageBenchmark {
+
+    private static final int PLAYERS = Integer.getInteger("benchmark.players", 100_000);
+    private static final int POPULATE_BATCH = 1000;
+    private static final int GAME_SIZE = 16;
+
+    private static final List<String> ROWS = List.of(
+            "populate (s)", "reopen (ms)", "game upsert (ms)", "load (ms)",
+            "find by name (ms)", "top 10 (ms)", "rank (ms)", "stream all (ms)");
+
+    @TempDir
+    File dataFolder;
+
+    @Test
+    @DisplayName("Compare SQLite, H2 and the journal on the same workload")
+    void compareBackends() throws Exception {
+        List<UUID> players = new ArrayList<>(PLAYERS);
+        Random random = new Random(1);
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        Map<String, Map<String, Double>> results = new LinkedHashMap<>();
+        results.put("SQLite", run("sqlite", SqliteStatsStorage::new, players));
+        results.put("H2", run("h2", H2StatsStorage::new, players));
+        results.put("Journal", run("journal", JournalStatsStorage::new, players));
+
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%nStats storage, %,d players (medians of %d runs)%n",
+                PLAYERS, StatsTestSupport.RUNS));
+        table.append(String.format("%-20s", ""));
+        results.keySet().forEach(name -> table.append(String.format("%12s", name)));
+        table.append(System.lineSeparator());
+        for (String row : ROWS) {
+            table.append(String.format("%-20s", row));
+            results.values().forEach(timings -> table.append(String.format("%12.3f", timings.get(row))));
+            table.append(System.lineSeparator());
+        }
+        System.out.println(table);
+    }
+
+    private Map<String, Double> run(String folder, Function<PropHuntPlugin, StatsStorage> factory,
+                                    List<UUID> players) throws Exception {
+        File backendFolder = new File(dataFolder, folder);
+        assertTrue(backendFolder.mkdirs());
+        PropHuntPlugin plugin = StatsTestSupport.mockPlugin(backendFolder);
+        Random random = new Random(2);
+        Map<String, Double> timings = new LinkedHashMap<>();
+
+        StatsStorage storage = factory.apply(plugin);
+        storage.open();
+        try {
+            long start = System.nanoTime();
+            List<StatsDelta> batch = new ArrayList<>(POPULATE_BATCH);
+            for (UUID uuid : players) {
+                batch.add(StatsTestSupport.randomGame(uuid, random));
+                if (batch.size() == POPULATE_BATCH) {
+                    storage.upsert(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                storage.upsert(batch);
+            }
+            timings.put("populate (s)", (System.nanoTime() - start) / 1e9);
+        } finally {
+            storage.close();
+        }
+
+        long start = System.nanoTime();
+        storage = factory.apply(plugin);
+        storage.open();
+        timings.put("reopen (ms)", (System.nanoTime() - start) / 1e6);
+
+        try {
+            StatsStorage open = storage;
+            timings.put("game upsert (ms)", StatsTestSupport.median(() -> {
+                List<StatsDelta> game = new ArrayList<>(GAME_SIZE);
+                for (int i = 0; i < GAME_SIZE; i++) {
+                    game.add(StatsTestSupport.randomGame(pick(players, random), random));
+                }
+                open.upsert(game);
+            }));
+            timings.put("load (ms)", StatsTestSupport.median(
+                    () -> assertNotNull(open.load(pick(players, random)))));
+            timings.put("find by name (ms)", StatsTestSupport.median(() -> assertNotNull(
+                    open.findByName(StatsTestSupport.nameOf(pick(players, random)).toUpperCase(Locale.ROOT)))));
+            timings.put("top 10 (ms)", StatsTestSupport.median(
+                    () -> assertEquals(10, open.getTop(StatType.TOTAL_POINTS, 10).size())));
+            timings.put("rank (ms)", StatsTestSupport.median(
+                    () -> assertTrue(open.getRank(pick(players, random), StatType.TOTAL_POINTS) > 0)));
+
+            start = System.nanoTime();
+            long[] count = {0};
+            open.streamAll(stats -> count[0]++);
+            timings.put("stream all (ms)", (System.nanoTime() - start) / 1e6);
+            assertEquals(players.size(), count[0]);
+        } finally {
+            storage.close();
+        }
+        return timings;
+    }
+
+    private static UUID pick(List<UUID> players, Random random) {
+        return players.get(random.nextInt(players.size()));
+    }
+}
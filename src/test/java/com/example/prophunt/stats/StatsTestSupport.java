@@ -0,0 +1,127 @@
+package com.example.prophunt.stats;
+
+import com.example.prophunt.PropHuntPlugin;
+import com.example.prophunt.config.ConfigManager;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Logger;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Builds the plugin and stats the storage tests and benchmarks run against.
+ */
+final class StatsTestSupport {
+
+    private static final int WARMUP = 5;
+    static final int RUNS = 25;
+
+    private StatsTestSupport() {
+    }
+
+    /**
+     * Mocks a plugin using a data folder, with default config values.
+     *
+     * @param dataFolder the data folder
+     * @return the plugin
+     */
+    static PropHuntPlugin mockPlugin(File dataFolder) {
+        ConfigManager config = mock(ConfigManager.class);
+        when(config.getInt(anyString(), anyInt())).thenAnswer(call -> call.getArgument(1));
+        when(config.getString(anyString(), anyString())).thenAnswer(call -> call.getArgument(1));
+        when(config.getStatsSqliteCacheSize()).thenReturn(16384);
+        when(config.getStatsSqliteMmapSize()).thenReturn(256);
+        when(config.getSeasonStartDay()).thenReturn(LocalDate.of(2026, 1, 1).toEpochDay());
+        when(config.getSeasonLength()).thenReturn(90);
+
+        PropHuntPlugin plugin = mock(PropHuntPlugin.class);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        when(plugin.getConfigManager()).thenReturn(config);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("PropHuntTest"));
+        return plugin;
+    }
+
+    /**
+     * Sets a config integer on a plugin from {@link #mockPlugin(File)}.
+     *
+     * @param plugin the plugin
+     * @param path the config path
+     * @param value the value
+     */
+    static void setInt(PropHuntPlugin plugin, String path, int value) {
+        when(plugin.getConfigManager().getInt(eq(path), anyInt())).thenReturn(value);
+    }
+
+    /**
+     * Makes one player's result from a finished game.
+     *
+     * @param uuid the player's UUID
+     * @param random source of the game's numbers
+     * @return the delta
+     */
+    static StatsDelta randomGame(UUID uuid, Random random) {
+        StatsDelta delta = new StatsDelta(uuid, nameOf(uuid));
+        delta.incrementGamesPlayed();
+        if (random.nextBoolean()) {
+            delta.incrementGamesWon();
+        } else {
+            delta.incrementGamesLost();
+        }
+        if (random.nextBoolean()) {
+            delta.incrementTimesAsProp();
+            delta.incrementPropSurvives();
+            delta.addHiddenTime(random.nextInt(300_000));
+        } else {
+            delta.incrementTimesAsHunter();
+            delta.addPropsFound(random.nextInt(5));
+            delta.addPropsKilled(random.nextInt(5));
+        }
+        int points = random.nextInt(500);
+        delta.addPoints(points);
+        delta.updateHighestGamePoints(points);
+        delta.addPlayTime(random.nextInt(600));
+        return delta;
+    }
+
+    /**
+     * Gets the generated name of a test player.
+     *
+     * @param uuid the player's UUID
+     * @return the name
+     */
+    static String nameOf(UUID uuid) {
+        return "player_" + Long.toHexString(uuid.getLeastSignificantBits() & 0xFFFFFFFFFFL);
+    }
+
+    /**
+     * Times an operation after a warmup.
+     *
+     * @param operation the operation
+     * @return the median of {@link #RUNS} timings, in milliseconds
+     * @throws Exception if the operation fails
+     */
+    static double median(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        double[] times = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    /**
+     * A timed benchmark operation.
+     */
+    @FunctionalInterface
+    interface Operation {
+        void run() throws Exception;
+    }
+}